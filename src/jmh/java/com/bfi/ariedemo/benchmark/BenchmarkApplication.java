@@ -0,0 +1,59 @@
+package com.bfi.ariedemo.benchmark;
+
+import com.bfi.ariedemo.AriedemoApplication;
+import com.bfi.ariedemo.domain.Employee;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application against a fresh in-memory H2 database seeded with employees.
+ */
+final class BenchmarkApplication {
+
+  private static final int INSERT_BATCH_SIZE = 10_000;
+
+  private BenchmarkApplication() {
+  }
+
+  static ConfigurableApplicationContext start(int rows, WebApplicationType webApplicationType, String... properties) {
+    String[] defaults = {
+      "spring.datasource.url=jdbc:h2:mem:bench" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+      "spring.jpa.hibernate.ddl-auto=create",
+      "spring.sql.init.mode=never",
+      "spring.main.banner-mode=off",
+      "logging.level.ROOT=WARN",
+    };
+    ConfigurableApplicationContext context = new SpringApplicationBuilder(AriedemoApplication.class)
+      .web(webApplicationType)
+      .properties(defaults)
+      .properties(properties)
+      .run();
+    seed(context.getBean(JdbcTemplate.class), rows);
+    return context;
+  }
+
+  private static void seed(JdbcTemplate jdbcTemplate, int rows) {
+    String sql = "insert into employee (id, first_name, last_name, email, phone_number, salary, status)"
+      + " values (?, ?, ?, ?, ?, ?, ?)";
+    List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+    for (int i = 0; i < rows; i++) {
+      Employee employee = BenchmarkData.employee(i);
+      batch.add(new Object[]{
+        employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+        employee.getPhoneNumber(), employee.getSalary(), employee.isStatus()
+      });
+      if (batch.size() == INSERT_BATCH_SIZE) {
+        jdbcTemplate.batchUpdate(sql, batch);
+        batch.clear();
+      }
+    }
+    if (!batch.isEmpty()) {
+      jdbcTemplate.batchUpdate(sql, batch);
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package com.bfi.ariedemo.benchmark;
+
+import com.bfi.ariedemo.domain.Employee;
+import com.bfi.ariedemo.dto.EmployeeDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deterministic employees shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+  private BenchmarkData() {
+  }
+
+  static Employee employee(int i) {
+    return Employee.builder()
+      .id(UUID.nameUUIDFromBytes(Integer.toString(i).getBytes()).toString())
+      .firstName("First" + i)
+      .lastName("Last" + i)
+      .email("employee" + i + "@example.com")
+      .phoneNumber("+62-21-" + (1_000_000 + i))
+      .salary(salary(i))
+      .status(i % 10 < 7)
+      .build();
+  }
+
+  static List<Employee> employees(int size) {
+    List<Employee> employees = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      employees.add(employee(i));
+    }
+    return employees;
+  }
+
+  static EmployeeDTO employeeDTO(int i) {
+    Employee employee = employee(i);
+    return EmployeeDTO.builder()
+      .id(employee.getId())
+      .firstName(employee.getFirstName())
+      .lastName(employee.getLastName())
+      .email(employee.getEmail())
+      .phoneNumber(employee.getPhoneNumber())
+      .salary(employee.getSalary())
+      .status(employee.isStatus())
+      .build();
+  }
+
+  static double salary(int i) {
+    return 1000 + (i * 7919L) % 20_000;
+  }
+}
@@ -0,0 +1,86 @@
+package com.bfi.ariedemo.benchmark;
+
+import com.bfi.ariedemo.domain.Employee;
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.mapper.EmployeeMapper;
+import com.bfi.ariedemo.mapper.EmployeeMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the MapStruct {@link EmployeeMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeMapperBenchmark {
+
+  @Param({"1000"})
+  private int size;
+
+  private final EmployeeMapper employeeMapper = new EmployeeMapperImpl();
+
+  private Employee employee;
+
+  private EmployeeDTO employeeDTO;
+
+  private List<Employee> employees;
+
+  private List<EmployeeDTO> employeeDTOs;
+
+  private double[] salaries;
+
+  private int next;
+
+  @Setup
+  public void setUp() {
+    employee = BenchmarkData.employee(42);
+    employeeDTO = BenchmarkData.employeeDTO(42);
+    employees = BenchmarkData.employees(size);
+    employeeDTOs = employeeMapper.toDto(employees);
+    salaries = new double[1024];
+    for (int i = 0; i < salaries.length; i++) {
+      salaries[i] = BenchmarkData.salary(i);
+    }
+  }
+
+  @Benchmark
+  public EmployeeDTO toDto() {
+    return employeeMapper.toDto(employee);
+  }
+
+  @Benchmark
+  public Employee toEntity() {
+    return employeeMapper.toEntity(employeeDTO);
+  }
+
+  @Benchmark
+  public List<EmployeeDTO> toDtoList() {
+    return employeeMapper.toDto(employees);
+  }
+
+  @Benchmark
+  public List<Employee> toEntityList() {
+    return employeeMapper.toEntity(employeeDTOs);
+  }
+
+  @Benchmark
+  public String getLevelingName() {
+    return employeeMapper.getLevelingName(salaries[next++ & (salaries.length - 1)]);
+  }
+}
@@ -0,0 +1,79 @@
+package com.bfi.ariedemo.benchmark;
+
+import com.bfi.ariedemo.domain.Employee;
+import com.bfi.ariedemo.dto.SalaryBucketDTO;
+import com.bfi.ariedemo.dto.SalaryPercentileDTO;
+import com.bfi.ariedemo.dto.SalaryRangeDTO;
+import com.bfi.ariedemo.service.EmployeeSalaryIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of the queries of the {@link EmployeeSalaryIndex}, and of an update followed by the query
+ * merging it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class EmployeeSalaryIndexBenchmark {
+
+  @Param({"1000000"})
+  private int size;
+
+  private EmployeeSalaryIndex index;
+
+  private int next;
+
+  @Setup
+  public void setUp() {
+    index = new EmployeeSalaryIndex();
+    for (int i = 0; i < size; i++) {
+      Employee employee = BenchmarkData.employee(i);
+      index.put(employee.getId(), employee.getSalary(), employee.isStatus());
+    }
+    index.count(null, null, null);
+  }
+
+  @Benchmark
+  public SalaryRangeDTO range() {
+    double min = 1000d * (next++ % 20);
+    return index.range(true, min, min + 500, 100);
+  }
+
+  @Benchmark
+  public List<SalaryBucketDTO> levels() {
+    return index.levels(null);
+  }
+
+  @Benchmark
+  public List<SalaryPercentileDTO> percentiles() {
+    return index.percentiles(null, 50, 90, 99);
+  }
+
+  @Benchmark
+  public List<SalaryBucketDTO> histogram() {
+    return index.histogram(true, null, null, 20);
+  }
+
+  @Benchmark
+  public long updateThenCount() {
+    Employee employee = BenchmarkData.employee(next++ % size);
+    index.put(employee.getId(), employee.getSalary() + next % 100, employee.isStatus());
+    return index.count(true, 5000d, 10000d);
+  }
+}
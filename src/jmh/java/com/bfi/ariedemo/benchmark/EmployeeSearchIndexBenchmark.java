@@ -0,0 +1,66 @@
+package com.bfi.ariedemo.benchmark;
+
+import com.bfi.ariedemo.domain.Employee;
+import com.bfi.ariedemo.dto.EmployeeSearchHitDTO;
+import com.bfi.ariedemo.service.EmployeeSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of the type-ahead searches and of the updates of the {@link EmployeeSearchIndex}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class EmployeeSearchIndexBenchmark {
+
+  private static final String[] QUERIES = {"f", "first12", "last99999", "employee4242", "first1 last1", "first9 la"};
+
+  @Param({"1000000"})
+  private int size;
+
+  private EmployeeSearchIndex index;
+
+  private int next;
+
+  @Setup
+  public void setUp() {
+    index = new EmployeeSearchIndex();
+    for (int i = 0; i < size; i++) {
+      index.put(hit(i, BenchmarkData.employee(i).getFirstName()));
+    }
+  }
+
+  @Benchmark
+  public List<EmployeeSearchHitDTO> search() {
+    return index.search(QUERIES[next++ % QUERIES.length], true, 10);
+  }
+
+  @Benchmark
+  public void rename() {
+    int i = next++ % size;
+    index.put(hit(i, "Renamed" + next));
+  }
+
+  private static EmployeeSearchHitDTO hit(int i, String firstName) {
+    Employee employee = BenchmarkData.employee(i);
+    return new EmployeeSearchHitDTO(
+      employee.getId(), firstName, employee.getLastName(), employee.getEmail(), employee.isStatus()
+    );
+  }
+}
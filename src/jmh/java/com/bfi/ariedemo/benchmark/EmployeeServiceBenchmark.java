@@ -0,0 +1,128 @@
+package com.bfi.ariedemo.benchmark;
+
+import com.bfi.ariedemo.domain.Employee;
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.mapper.EmployeeMapper;
+import com.bfi.ariedemo.repository.EmployeeRepository;
+import com.bfi.ariedemo.service.EmployeeDtoCache;
+import com.bfi.ariedemo.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmarks of the {@link EmployeeService} read paths against a seeded H2 database.
+ * <p>
+ * {@code findAllLoadThenFilter} is the listing as it was before the status filter was pushed to the database,
+ * {@code findAllManaged} as it was before the rows were read straight into DTOs, loading them as managed entities,
+ * run them with {@code -prof gc} to compare the allocation per listing against {@code findAll}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeServiceBenchmark {
+
+  private static final String FIND_ALL_BY_STATUS = "select e from Employee e where e.status = :status";
+
+  @Param({"10000", "100000", "1000000"})
+  private int rows;
+
+  private ConfigurableApplicationContext context;
+
+  private EmployeeService employeeService;
+
+  private EmployeeRepository employeeRepository;
+
+  private EmployeeMapper employeeMapper;
+
+  private EntityManager entityManager;
+
+  private EmployeeDtoCache employeeDtoCache;
+
+  private TransactionTemplate readOnlyTransaction;
+
+  private String[] ids;
+
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkApplication.start(rows, WebApplicationType.NONE);
+    employeeService = context.getBean(EmployeeService.class);
+    employeeRepository = context.getBean(EmployeeRepository.class);
+    employeeMapper = context.getBean(EmployeeMapper.class);
+    entityManager = context.getBean(EntityManager.class);
+    employeeDtoCache = context.getBean(EmployeeDtoCache.class);
+    readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    readOnlyTransaction.setReadOnly(true);
+    ids = new String[1024];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = BenchmarkData.employee((int) ((long) i * rows / ids.length)).getId();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<EmployeeDTO> findAll() {
+    return employeeService.findAll(true);
+  }
+
+  @Benchmark
+  public List<EmployeeDTO> findAllManaged() {
+    return readOnlyTransaction.execute(status -> entityManager.createQuery(FIND_ALL_BY_STATUS, Employee.class)
+      .setParameter("status", true)
+      .getResultList()
+      .stream()
+      .map(employeeMapper::toDto)
+      .collect(Collectors.toList()));
+  }
+
+  @Benchmark
+  public List<EmployeeDTO> findAllLoadThenFilter() {
+    return readOnlyTransaction.execute(status -> employeeRepository.findAll()
+      .stream()
+      .filter(Employee::isStatus)
+      .map(employeeMapper::toDto)
+      .collect(Collectors.toList()));
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public EmployeeDTO findOneCached() {
+    return employeeService.findOne(ids[next++ & (ids.length - 1)]);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public EmployeeDTO findOneUncached() {
+    String id = ids[next++ & (ids.length - 1)];
+    employeeDtoCache.evict(id);
+    return employeeService.findOne(id);
+  }
+}
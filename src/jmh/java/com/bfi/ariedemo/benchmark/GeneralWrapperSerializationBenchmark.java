@@ -0,0 +1,55 @@
+package com.bfi.ariedemo.benchmark;
+
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.dto.GeneralWrapper;
+import com.bfi.ariedemo.mapper.EmployeeMapperImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the Jackson serialization of the listing response, with the SNAKE_CASE naming of the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneralWrapperSerializationBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int size;
+
+  private ObjectMapper objectMapper;
+
+  private GeneralWrapper<List<EmployeeDTO>> wrapper;
+
+  @Setup
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json()
+      .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+      .build();
+    wrapper = new GeneralWrapper<>(new EmployeeMapperImpl().toDto(BenchmarkData.employees(size))).success();
+  }
+
+  @Benchmark
+  public byte[] serializeList() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(wrapper);
+  }
+}
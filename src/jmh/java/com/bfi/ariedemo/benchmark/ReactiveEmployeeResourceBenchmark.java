@@ -0,0 +1,98 @@
+package com.bfi.ariedemo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the blocking {@code EmployeeResource} and of the R2DBC {@code ReactiveEmployeeResource} over HTTP,
+ * under 64 concurrent clients.
+ * <p>
+ * Run it with {@code -prof com.bfi.ariedemo.benchmark.ThreadsProfiler} to get the peak thread count of every iteration
+ * and the server threads alive per pool as secondary results. The blocking read by id is served by the employee DTO
+ * cache, the reactive one always reads the table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(64)
+public class ReactiveEmployeeResourceBenchmark {
+
+  @Param({"1000"})
+  private int rows;
+
+  private ConfigurableApplicationContext context;
+
+  private HttpClient httpClient;
+
+  private String baseUrl;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkApplication.start(rows, WebApplicationType.SERVLET, "server.port=0");
+    baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+    httpClient = HttpClient.newHttpClient();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public int blockingFindAll() throws IOException, InterruptedException {
+    return get("/employees", "application/json");
+  }
+
+  @Benchmark
+  public int reactiveFindAll() throws IOException, InterruptedException {
+    return get("/reactive/employees", "application/x-ndjson");
+  }
+
+  @Benchmark
+  public int blockingFindOne() throws IOException, InterruptedException {
+    return get("/employees/" + randomId(), "application/json");
+  }
+
+  @Benchmark
+  public int reactiveFindOne() throws IOException, InterruptedException {
+    return get("/reactive/employees/" + randomId(), "application/json");
+  }
+
+  private String randomId() {
+    return BenchmarkData.employee(ThreadLocalRandom.current().nextInt(rows)).getId();
+  }
+
+  private int get(String path, String accept) throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Accept", accept).build();
+    HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException(path + " answered " + response.statusCode());
+    }
+    return response.body().length();
+  }
+}
@@ -0,0 +1,144 @@
+package com.bfi.ariedemo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The loop, stream and parallel stream examples of {@code AriedemoApplicationTests} as measured benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamBenchmark {
+
+  private static final String[] NAMES = {"John", "Jane", "Jim", "Jimmy", "Sumanto", "George"};
+
+  @Param({"1000", "100000"})
+  private int size;
+
+  private List<String> names;
+
+  private List<Integer> numbers;
+
+  @Setup
+  public void setUp() {
+    names = new ArrayList<>(size);
+    numbers = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      names.add(NAMES[i % NAMES.length] + i % 100);
+      numbers.add(i + 1);
+    }
+  }
+
+  // exampleOfStreamsPipelining: keep the long names, lowercase and sort them
+
+  @Benchmark
+  public List<String> pipelineLoop() {
+    List<String> results = new ArrayList<>();
+    for (String name : names) {
+      if (name.length() > 5) {
+        results.add(name.toLowerCase());
+      }
+    }
+    results.sort(null);
+    return results;
+  }
+
+  @Benchmark
+  public List<String> pipelineStream() {
+    return names.stream()
+      .filter(n -> n.length() > 5)
+      .map(String::toLowerCase)
+      .sorted()
+      .collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public List<String> pipelineParallelStream() {
+    return names.parallelStream()
+      .filter(n -> n.length() > 5)
+      .map(String::toLowerCase)
+      .sorted()
+      .collect(Collectors.toList());
+  }
+
+  // exampleOfStreamsReduce: sum of the even numbers
+
+  @Benchmark
+  public int sumOfEvensLoop() {
+    int result = 0;
+    for (int value : numbers) {
+      if (value % 2 == 0) {
+        result += value;
+      }
+    }
+    return result;
+  }
+
+  @Benchmark
+  public int sumOfEvensStream() {
+    return numbers.stream().filter(e -> e % 2 == 0).reduce(0, Integer::sum);
+  }
+
+  @Benchmark
+  public int sumOfEvensIntStream() {
+    return numbers.stream().mapToInt(Integer::intValue).filter(e -> e % 2 == 0).sum();
+  }
+
+  @Benchmark
+  public int sumOfEvensParallelStream() {
+    return numbers.parallelStream().filter(e -> e % 2 == 0).reduce(0, Integer::sum);
+  }
+
+  // exampleOfStreams: first even number above a threshold times a factor
+
+  @Benchmark
+  public int firstMatchLoop() {
+    int threshold = size / 2;
+    for (int value : numbers) {
+      if (value > threshold && value % 2 == 0) {
+        return value * 5;
+      }
+    }
+    return 0;
+  }
+
+  @Benchmark
+  public int firstMatchStream() {
+    int threshold = size / 2;
+    return numbers.stream()
+      .filter(value -> value > threshold)
+      .filter(value -> value % 2 == 0)
+      .map(value -> value * 5)
+      .findFirst()
+      .orElse(0);
+  }
+
+  @Benchmark
+  public int firstMatchParallelStream() {
+    int threshold = size / 2;
+    return numbers.parallelStream()
+      .filter(value -> value > threshold)
+      .filter(value -> value % 2 == 0)
+      .map(value -> value * 5)
+      .findFirst()
+      .orElse(0);
+  }
+}
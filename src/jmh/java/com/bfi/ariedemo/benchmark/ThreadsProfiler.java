@@ -0,0 +1,58 @@
+package com.bfi.ariedemo.benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reports the threads of the benchmark JVM as secondary results of every iteration: the peak thread count, and the
+ * threads alive at its end per pool of at least 4 threads, named after the thread names stripped of their number.
+ * <p>
+ * Enable it with {@code -prof com.bfi.ariedemo.benchmark.ThreadsProfiler}.
+ */
+public class ThreadsProfiler implements InternalProfiler {
+
+  private static final int MIN_POOL_SIZE = 4;
+
+  private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+  @Override
+  public String getDescription() {
+    return "Peak thread count and threads alive per pool";
+  }
+
+  @Override
+  public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+    threadMXBean.resetPeakThreadCount();
+  }
+
+  @Override
+  public Collection<? extends Result> afterIteration(
+    BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result
+  ) {
+    List<Result> results = new ArrayList<>();
+    results.add(new ScalarResult("threads.peak", threadMXBean.getPeakThreadCount(), "threads", AggregationPolicy.MAX));
+    Map<String, Integer> pools = new TreeMap<>();
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      pools.merge(thread.getName().replaceAll("-?\\d+$", ""), 1, Integer::sum);
+    }
+    pools.forEach((pool, count) -> {
+      if (count >= MIN_POOL_SIZE) {
+        results.add(new ScalarResult("threads.pool:" + pool, count, "threads", AggregationPolicy.MAX));
+      }
+    });
+    return results;
+  }
+}
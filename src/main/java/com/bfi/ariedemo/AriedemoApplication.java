@@ -1,9 +1,15 @@
 package com.bfi.ariedemo;
 
+import com.bfi.ariedemo.config.ApplicationProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
-@SpringBootApplication
+// R2DBC is configured by R2dbcConfiguration, a ConnectionFactory bean would disable the JDBC DataSource
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
+@EnableConfigurationProperties(ApplicationProperties.class)
 public class AriedemoApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(AriedemoApplication.class, args);
@@ -0,0 +1,193 @@
+package com.bfi.ariedemo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Properties specific to Ariedemo.
+ * <p>
+ * Properties are configured in the {@code application.properties} file under the {@code application} prefix.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
+public class ApplicationProperties {
+
+  private final Batch batch = new Batch();
+
+  private final Async async = new Async();
+
+  private final Cache cache = new Cache();
+
+  private final Reactive reactive = new Reactive();
+
+  private final Timing timing = new Timing();
+
+  private final Changes changes = new Changes();
+
+  private final Lookup lookup = new Lookup();
+
+  private final Index index = new Index();
+
+  @Getter
+  @Setter
+  public static class Batch {
+
+    /**
+     * Number of employees written per transaction by the batch endpoint.
+     */
+    private int chunkSize = 500;
+  }
+
+  @Getter
+  @Setter
+  public static class Async {
+
+    /**
+     * Threads running the database work of the employee endpoints, the connection pool size when not set.
+     */
+    private Integer poolSize;
+
+    /**
+     * Requests waiting for a thread, further requests are rejected with {@code 503 (Service Unavailable)}.
+     */
+    private int queueCapacity = 100;
+  }
+
+  @Getter
+  @Setter
+  public static class Cache {
+
+    /**
+     * Hibernate second level cache region of the employee entities.
+     */
+    private final Region employee = new Region(10_000, 3600);
+
+    /**
+     * Hibernate query cache region of the employee list queries.
+     */
+    private final Region query = new Region(1_000, 300);
+
+    /**
+     * Service level cache of the employee DTOs read by id.
+     */
+    private final Region dto = new Region(10_000, 600);
+
+    @Getter
+    @Setter
+    public static class Region {
+
+      private long maxEntries;
+
+      private long timeToLiveSeconds;
+
+      public Region(long maxEntries, long timeToLiveSeconds) {
+        this.maxEntries = maxEntries;
+        this.timeToLiveSeconds = timeToLiveSeconds;
+      }
+    }
+  }
+
+  @Getter
+  @Setter
+  public static class Reactive {
+
+    /**
+     * Maximum number of R2DBC connections of the reactive read API.
+     */
+    private int poolSize = 10;
+
+    /**
+     * Maximum time to wait for a free R2DBC connection.
+     */
+    private Duration maxAcquireTime = Duration.ofSeconds(5);
+  }
+
+  @Getter
+  @Setter
+  public static class Timing {
+
+    /**
+     * Whether the controller, service, repository, mapping and serialization phases of the API requests are timed.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Whether the phases are sent to the clients in a {@code Server-Timing} response header. The header is written
+     * before the body, the serialization phase follows in a {@code Server-Timing} trailer.
+     */
+    private boolean serverTimingHeader = true;
+
+    /**
+     * Requests lasting at least this long are logged with their breakdown.
+     */
+    private Duration slowRequestThreshold = Duration.ofMillis(500);
+  }
+
+  @Getter
+  @Setter
+  public static class Changes {
+
+    /**
+     * Latest changes kept for the subscribers resuming the change feed with {@code Last-Event-ID}.
+     */
+    private int historySize = 1000;
+
+    /**
+     * Changes waiting to be sent to a subscriber, a subscriber falling further behind is disconnected.
+     */
+    private int subscriberBufferSize = 256;
+
+    /**
+     * Maximum number of subscribers, further ones are rejected with {@code 503 (Service Unavailable)}.
+     */
+    private int maxSubscribers = 100;
+
+    /**
+     * Threads sending the changes to the subscribers.
+     */
+    private int senderThreads = 2;
+
+    /**
+     * Duration of a subscription, the clients then reconnect and resume with {@code Last-Event-ID}.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Delay between the heartbeats sent to the idle subscribers, noticing the clients gone away. In ISO-8601, as
+     * it is read by {@code @Scheduled}.
+     */
+    private Duration heartbeat = Duration.ofSeconds(15);
+  }
+
+  @Getter
+  @Setter
+  public static class Lookup {
+
+    /**
+     * Time during which the concurrent lookups of single employees missing from the cache are gathered into one query,
+     * added to the latency of the first one. Zero to query each one on its own.
+     */
+    private Duration batchWindow = Duration.ofMillis(1);
+
+    /**
+     * Number of gathered lookups queried without waiting for the rest of the window.
+     */
+    private int maxBatchSize = 100;
+  }
+
+  @Getter
+  @Setter
+  public static class Index {
+
+    /**
+     * Whether the in-memory search and salary indexes are filled in the background, once the application is ready and
+     * after the set-based updates they cannot follow. When disabled, they only hold the employees changed since the
+     * start until filled explicitly.
+     */
+    private boolean backgroundFill = true;
+  }
+}
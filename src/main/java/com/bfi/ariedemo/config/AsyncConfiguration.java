@@ -0,0 +1,110 @@
+package com.bfi.ariedemo.config;
+
+import com.bfi.ariedemo.timing.RequestTimings;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Configuration of the executor running the database work of the asynchronous employee endpoints.
+ * <p>
+ * The executor has as many threads as the connection pool has connections, and a bounded queue: once it is full,
+ * requests are rejected instead of waiting for a connection.
+ */
+@Configuration
+@EnableScheduling
+public class AsyncConfiguration {
+
+  public static final String EMPLOYEE_TASK_EXECUTOR = "employeeTaskExecutor";
+
+  public static final String CHANGE_FEED_TASK_EXECUTOR = "changeFeedTaskExecutor";
+
+  private static final int DEFAULT_POOL_SIZE = 10;
+
+  private final Logger log = LoggerFactory.getLogger(AsyncConfiguration.class);
+
+  private final ApplicationProperties.Async properties;
+
+  private final ApplicationProperties.Changes changesProperties;
+
+  private final LongAdder rejectedTasks = new LongAdder();
+
+  public AsyncConfiguration(ApplicationProperties applicationProperties) {
+    this.properties = applicationProperties.getAsync();
+    this.changesProperties = applicationProperties.getChanges();
+  }
+
+  /**
+   * The executor Spring Boot configures when no other is defined, used by Spring MVC to write streamed responses.
+   */
+  @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+  public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder taskExecutorBuilder) {
+    return taskExecutorBuilder.build();
+  }
+
+  @Bean(name = EMPLOYEE_TASK_EXECUTOR)
+  public ThreadPoolTaskExecutor employeeTaskExecutor(DataSource dataSource) {
+    int poolSize = properties.getPoolSize() != null ? properties.getPoolSize() : connectionPoolSize(dataSource);
+    log.debug("Creating employee task executor with {} threads and a queue of {}", poolSize, properties.getQueueCapacity());
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(properties.getQueueCapacity());
+    executor.setThreadNamePrefix("employee-db-");
+    executor.setTaskDecorator(RequestTimings::propagate);
+    executor.setRejectedExecutionHandler((task, threadPoolExecutor) -> {
+      rejectedTasks.increment();
+      throw new RejectedExecutionException("Employee executor queue is full");
+    });
+    return executor;
+  }
+
+  /**
+   * The executor sending the change feed to its subscribers. Each subscriber has at most one task queued or running,
+   * so the queue is bounded by the number of subscribers.
+   */
+  @Bean(name = CHANGE_FEED_TASK_EXECUTOR)
+  public ThreadPoolTaskExecutor changeFeedTaskExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(changesProperties.getSenderThreads());
+    executor.setMaxPoolSize(changesProperties.getSenderThreads());
+    executor.setThreadNamePrefix("employee-changes-");
+    return executor;
+  }
+
+  /**
+   * Publishes the queue depth, active threads, completed and rejected tasks of the employee executor.
+   */
+  @Bean
+  public MeterBinder employeeTaskExecutorMetrics(
+    @Qualifier(EMPLOYEE_TASK_EXECUTOR) ThreadPoolTaskExecutor employeeTaskExecutor
+  ) {
+    return registry -> {
+      new ExecutorServiceMetrics(employeeTaskExecutor.getThreadPoolExecutor(), "employee", Tags.empty()).bindTo(registry);
+      FunctionCounter.builder("employee.executor.rejected", rejectedTasks, LongAdder::sum)
+        .description("Employee requests rejected because the executor queue is full")
+        .register(registry);
+    };
+  }
+
+  private static int connectionPoolSize(DataSource dataSource) {
+    // Hikari only applies its default size once the pool is started
+    int poolSize = dataSource instanceof HikariDataSource ? ((HikariDataSource) dataSource).getMaximumPoolSize() : 0;
+    return poolSize > 0 ? poolSize : DEFAULT_POOL_SIZE;
+  }
+}
@@ -0,0 +1,62 @@
+package com.bfi.ariedemo.config;
+
+import com.bfi.ariedemo.domain.Employee;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of the local JCache (Caffeine) caches backing the Hibernate second level cache.
+ * <p>
+ * Statistics are enabled on every cache, hits, misses and evictions are published as {@code javax.cache} MBeans.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+  private final ApplicationProperties.Cache properties;
+
+  public CacheConfiguration(ApplicationProperties applicationProperties) {
+    this.properties = applicationProperties.getCache();
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(CacheManager cacheManager) {
+    return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+  }
+
+  @Bean
+  public JCacheManagerCustomizer cacheManagerCustomizer() {
+    return cm -> {
+      createCache(cm, Employee.class.getName(), properties.getEmployee());
+      createCache(cm, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, properties.getQuery());
+      // the timestamps region holds one entry per table and must never lose them
+      createCache(cm, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, null);
+    };
+  }
+
+  private void createCache(CacheManager cm, String cacheName, ApplicationProperties.Cache.Region region) {
+    javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
+    if (cache != null) {
+      cache.clear();
+      return;
+    }
+    CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+    if (region != null) {
+      configuration.setMaximumSize(OptionalLong.of(region.getMaxEntries()));
+      configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(region.getTimeToLiveSeconds())));
+    }
+    configuration.setStatisticsEnabled(true);
+    configuration.setManagementEnabled(true);
+    cm.createCache(cacheName, configuration);
+  }
+}
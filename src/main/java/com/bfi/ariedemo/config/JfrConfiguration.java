@@ -0,0 +1,30 @@
+package com.bfi.ariedemo.config;
+
+import com.bfi.ariedemo.timing.EmployeeOperationEventAspect;
+import com.bfi.ariedemo.timing.SqlStatementEvents;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the custom Java Flight Recorder events.
+ * <p>
+ * The events are disabled by default, enable them in a recording with the {@code jfr/ariedemo.jfc} settings.
+ */
+@Configuration
+public class JfrConfiguration {
+
+  @Bean
+  public EmployeeOperationEventAspect employeeOperationEventAspect() {
+    return new EmployeeOperationEventAspect();
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer sqlStatementEventsCustomizer() {
+    return hibernateProperties -> {
+      hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementEvents());
+      hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlStatementEvents.Listener.class.getName());
+    };
+  }
+}
@@ -0,0 +1,83 @@
+package com.bfi.ariedemo.config;
+
+import com.bfi.ariedemo.service.EmployeeBatchLoader;
+import com.bfi.ariedemo.service.EmployeeChangeFeed;
+import com.bfi.ariedemo.service.EmployeeDtoCache;
+import com.bfi.ariedemo.service.EmployeeSearchIndexer;
+import com.bfi.ariedemo.service.SingleFlight;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the application meters, published with the Actuator ones under {@code /management}.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+  /**
+   * Records the methods annotated with {@link io.micrometer.core.annotation.Timed}, or declared by an annotated class.
+   */
+  @Bean
+  public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+    return new TimedAspect(meterRegistry);
+  }
+
+  @Bean
+  public MeterBinder employeeDtoCacheMetrics(EmployeeDtoCache employeeDtoCache) {
+    return registry -> {
+      CaffeineCacheMetrics.monitor(registry, employeeDtoCache.getNativeCache(), "employeeDto");
+      bindSingleFlight(registry, employeeDtoCache.getLoads(), "employee");
+      bindSingleFlight(registry, employeeDtoCache.getVersionLoads(), "version");
+    };
+  }
+
+  @Bean
+  public MeterBinder employeeSearchIndexMetrics(EmployeeSearchIndexer employeeSearchIndexer) {
+    return registry -> Gauge.builder("employee.search.index.size", employeeSearchIndexer, EmployeeSearchIndexer::size)
+      .description("Number of employees in the search index")
+      .register(registry);
+  }
+
+  @Bean
+  public MeterBinder employeeChangeFeedMetrics(EmployeeChangeFeed employeeChangeFeed) {
+    return registry -> Gauge.builder("employee.changes.subscribers", employeeChangeFeed, EmployeeChangeFeed::subscriberCount)
+      .description("Number of subscribers of the employee change feed")
+      .register(registry);
+  }
+
+  @Bean
+  public MeterBinder employeeBatchLoaderMetrics(EmployeeBatchLoader employeeBatchLoader) {
+    return registry -> {
+      FunctionCounter.builder("employee.lookups.batches", employeeBatchLoader, EmployeeBatchLoader::batches)
+        .description("Queries loading the gathered lookups of single employees")
+        .register(registry);
+      FunctionCounter.builder("employee.lookups.batched", employeeBatchLoader, EmployeeBatchLoader::batchedKeys)
+        .description("Lookups of single employees gathered into batches")
+        .register(registry);
+    };
+  }
+
+  /**
+   * Publishes the loads run and collapsed by a {@link SingleFlight}, their ratio being the queries saved.
+   */
+  private static void bindSingleFlight(MeterRegistry registry, SingleFlight<?, ?> singleFlight, String lookup) {
+    FunctionCounter.builder("employee.lookups", singleFlight, SingleFlight::executed)
+      .description("Lookups of employees, run against the database or collapsed into the same lookup in flight")
+      .tags("lookup", lookup, "result", "executed")
+      .register(registry);
+    FunctionCounter.builder("employee.lookups", singleFlight, SingleFlight::collapsed)
+      .description("Lookups of employees, run against the database or collapsed into the same lookup in flight")
+      .tags("lookup", lookup, "result", "collapsed")
+      .register(registry);
+    Gauge.builder("employee.lookups.in.flight", singleFlight, SingleFlight::inFlight)
+      .description("Lookups of employees in flight")
+      .tags("lookup", lookup)
+      .register(registry);
+  }
+}
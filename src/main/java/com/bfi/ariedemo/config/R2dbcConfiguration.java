@@ -0,0 +1,86 @@
+package com.bfi.ariedemo.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the R2DBC client of the reactive read API, connected to the H2 database of the JPA stack.
+ * <p>
+ * The connection pool is deliberately not a bean: Spring Boot does not configure the JDBC {@code DataSource} when
+ * a {@code ConnectionFactory} bean exists.
+ */
+@Configuration
+public class R2dbcConfiguration implements DisposableBean {
+
+  private static final String H2_URL_PREFIX = "jdbc:h2:";
+
+  private static final String POOL_NAME = "employee";
+
+  private static final Duration MAX_IDLE_TIME = Duration.ofMinutes(10);
+
+  private static final Duration MAX_LIFE_TIME = Duration.ofMinutes(30);
+
+  private final ApplicationProperties.Reactive properties;
+
+  private ConnectionPool connectionPool;
+
+  public R2dbcConfiguration(ApplicationProperties applicationProperties) {
+    this.properties = applicationProperties.getReactive();
+  }
+
+  @Bean
+  public DatabaseClient reactiveDatabaseClient(DataSourceProperties dataSourceProperties) {
+    String url = dataSourceProperties.determineUrl();
+    if (url == null || !url.startsWith(H2_URL_PREFIX)) {
+      throw new IllegalStateException("The reactive API requires an H2 database, not " + url);
+    }
+    H2ConnectionFactory connectionFactory = new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+      .url(url.substring(H2_URL_PREFIX.length()))
+      .username(dataSourceProperties.determineUsername())
+      .password(dataSourceProperties.determinePassword())
+      .build());
+    connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+      .name(POOL_NAME)
+      .maxSize(properties.getPoolSize())
+      .maxAcquireTime(properties.getMaxAcquireTime())
+      // r2dbc-pool 0.9.0 evicts every released connection when the max life time is left unset on Java 9+
+      .maxIdleTime(MAX_IDLE_TIME)
+      .maxLifeTime(MAX_LIFE_TIME)
+      .customizer(pool -> pool.acquisitionScheduler(Schedulers.boundedElastic()))
+      .build());
+    return DatabaseClient.create(connectionPool);
+  }
+
+  /**
+   * Publishes the acquired, idle and pending connections of the R2DBC pool.
+   */
+  @Bean
+  public MeterBinder reactiveConnectionPoolMetrics(DatabaseClient reactiveDatabaseClient) {
+    PoolMetrics poolMetrics = ((ConnectionPool) reactiveDatabaseClient.getConnectionFactory()).getMetrics().orElseThrow();
+    return registry -> {
+      Gauge.builder("r2dbc.pool.acquired", poolMetrics, PoolMetrics::acquiredSize).tag("name", POOL_NAME).strongReference(true).register(registry);
+      Gauge.builder("r2dbc.pool.idle", poolMetrics, PoolMetrics::idleSize).tag("name", POOL_NAME).strongReference(true).register(registry);
+      Gauge.builder("r2dbc.pool.pending", poolMetrics, PoolMetrics::pendingAcquireSize).tag("name", POOL_NAME).strongReference(true).register(registry);
+    };
+  }
+
+  @Override
+  public void destroy() {
+    if (connectionPool != null) {
+      connectionPool.dispose();
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.bfi.ariedemo.config;
+
+import com.bfi.ariedemo.timing.RequestTimingAspect;
+import com.bfi.ariedemo.timing.ServerTimingFilter;
+import com.bfi.ariedemo.timing.TimedJacksonHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import javax.servlet.DispatcherType;
+
+/**
+ * Configuration of the per request latency breakdown, see {@link ApplicationProperties.Timing}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TimingConfiguration {
+
+  private final ApplicationProperties.Timing properties;
+
+  public TimingConfiguration(ApplicationProperties applicationProperties) {
+    this.properties = applicationProperties.getTiming();
+  }
+
+  @Bean
+  public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+    FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(
+      new ServerTimingFilter(properties.isServerTimingHeader(), properties.getSlowRequestThreshold()));
+    registration.addUrlPatterns("/api/*");
+    registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    return registration;
+  }
+
+  @Bean
+  public RequestTimingAspect requestTimingAspect() {
+    return new RequestTimingAspect();
+  }
+
+  /**
+   * Replaces the default Jackson converter, which Spring Boot only registers when none is defined.
+   */
+  @Bean
+  public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+    return new TimedJacksonHttpMessageConverter(objectMapper);
+  }
+}
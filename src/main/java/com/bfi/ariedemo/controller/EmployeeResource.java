@@ -1,14 +1,46 @@
 package com.bfi.ariedemo.controller;
 
+import com.bfi.ariedemo.config.ApplicationProperties;
+import com.bfi.ariedemo.config.AsyncConfiguration;
 import com.bfi.ariedemo.domain.Employee;
+import com.bfi.ariedemo.domain.EmployeeLevel;
+import com.bfi.ariedemo.dto.BatchItemResultDTO;
+import com.bfi.ariedemo.dto.BulkDeactivateDTO;
+import com.bfi.ariedemo.dto.BulkUpdateResultDTO;
+import com.bfi.ariedemo.dto.CursorPage;
+import com.bfi.ariedemo.dto.EmployeeCriteria;
 import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.dto.EmployeeField;
+import com.bfi.ariedemo.dto.EmployeeFieldsDTO;
+import com.bfi.ariedemo.dto.EmployeeIdsDTO;
+import com.bfi.ariedemo.dto.EmployeeLevelStatsDTO;
+import com.bfi.ariedemo.dto.EmployeeLookupDTO;
+import com.bfi.ariedemo.dto.EmployeeSearchHitDTO;
 import com.bfi.ariedemo.dto.GeneralWrapper;
+import com.bfi.ariedemo.dto.SalaryAdjustmentDTO;
+import com.bfi.ariedemo.dto.SalaryBucketDTO;
+import com.bfi.ariedemo.dto.SalaryPercentileDTO;
+import com.bfi.ariedemo.dto.SalaryRangeDTO;
 import com.bfi.ariedemo.exception.BadRequestException;
-import com.bfi.ariedemo.repository.EmployeeRepository;
+import com.bfi.ariedemo.service.EmployeeQueryService;
 import com.bfi.ariedemo.service.EmployeeService;
+import com.bfi.ariedemo.util.ETagUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,17 +49,36 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
-import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * REST controller for managing {@link Employee}.
+ * <p>
+ * The endpoints run their service calls on the bounded {@link AsyncConfiguration#EMPLOYEE_TASK_EXECUTOR} and release
+ * the servlet thread meanwhile, requests rejected by the executor fail fast with {@code 503 (Service Unavailable)}.
+ * The streaming batch, export and change feed endpoints stay synchronous, as do the search and salary endpoints served
+ * from memory.
  */
 @RestController
 @RequestMapping("/api")
@@ -40,14 +91,57 @@ public class EmployeeResource {
 
   private static final String INVALID_ID = "Invalid id";
 
+  private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+  private static final int DEFAULT_PAGE_SIZE = 20;
+
+  private static final int MAX_PAGE_SIZE = 1000;
+
+  private static final int DEFAULT_SEARCH_LIMIT = 10;
+
+  private static final int MAX_SEARCH_LIMIT = 100;
+
+  private static final int DEFAULT_SALARY_LIMIT = 100;
+
+  private static final int MAX_SALARY_LIMIT = 1000;
+
+  private static final double[] DEFAULT_PERCENTILES = {50, 90, 99};
+
+  private static final int DEFAULT_HISTOGRAM_BUCKETS = 10;
+
+  private static final int MAX_HISTOGRAM_BUCKETS = 1000;
+
+  private static final int MAX_MGET_IDS = 1000;
+
+  private static final String TOTAL_COUNT = "X-Total-Count";
+
 
   private final EmployeeService employeeService;
 
-  private final EmployeeRepository employeeRepository;
+  private final EmployeeQueryService employeeQueryService;
 
-  public EmployeeResource(EmployeeService employeeService, EmployeeRepository employeeRepository) {
+  private final ObjectMapper objectMapper;
+
+  private final Validator validator;
+
+  private final ApplicationProperties applicationProperties;
+
+  private final AsyncTaskExecutor taskExecutor;
+
+  public EmployeeResource(
+    EmployeeService employeeService,
+    EmployeeQueryService employeeQueryService,
+    ObjectMapper objectMapper,
+    Validator validator,
+    ApplicationProperties applicationProperties,
+    @Qualifier(AsyncConfiguration.EMPLOYEE_TASK_EXECUTOR) AsyncTaskExecutor taskExecutor
+  ) {
     this.employeeService = employeeService;
-    this.employeeRepository = employeeRepository;
+    this.employeeQueryService = employeeQueryService;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.applicationProperties = applicationProperties;
+    this.taskExecutor = taskExecutor;
   }
 
   /**
@@ -55,33 +149,153 @@ public class EmployeeResource {
    *
    * @param employeeDTO the employeeDTO to create.
    * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new employeeDTO, or with status {@code 400 (Bad Request)} if the employee has already an ID.
-   * @throws URISyntaxException if the Location URI syntax is incorrect.
    */
   @PostMapping("/employees")
-  public ResponseEntity<GeneralWrapper<EmployeeDTO>> createEmployee(@RequestBody EmployeeDTO employeeDTO) throws URISyntaxException {
+  public CompletableFuture<ResponseEntity<GeneralWrapper<EmployeeDTO>>> createEmployee(@RequestBody EmployeeDTO employeeDTO) {
     log.debug("REST request to save Employee : {}", employeeDTO);
     if (employeeDTO.getId() != null) {
       throw new BadRequestException("A new employee cannot already have an ID");
     }
-    EmployeeDTO result = employeeService.save(employeeDTO);
-    return ResponseEntity
-      .created(new URI("/api/employees/" + result.getId()))
-      .body(new GeneralWrapper<>(result).success(HttpStatus.CREATED));
+    return async(() -> {
+      EmployeeDTO result = employeeService.save(employeeDTO);
+      return ResponseEntity
+        .created(URI.create("/api/employees/" + result.getId()))
+        .body(new GeneralWrapper<>(result).success(HttpStatus.CREATED));
+    });
+  }
+
+  /**
+   * {@code POST  /employees/batch} : Create or update a JSON array of employees.
+   * <p>
+   * The array is read item by item and written in chunks of {@code application.batch.chunk-size} employees,
+   * one transaction per chunk. Employees with an ID are updated, the others are created.
+   * <p>
+   * An item that is not a valid JSON object stops the reading, as the chunks before it may already be committed: the
+   * items read so far are still saved and reported, the rest of the array is reported as one {@code FAILED} result at
+   * the index of that item.
+   *
+   * @param request the request holding the JSON array of employeeDTOs.
+   * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every item,
+   * or with status {@code 400 (Bad Request)} if the body is not a JSON array.
+   * @throws IOException if the request body cannot be read.
+   */
+  @PostMapping(value = "/employees/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<GeneralWrapper<List<BatchItemResultDTO>>> createEmployees(HttpServletRequest request) throws IOException {
+    log.debug("REST request to save a batch of Employees");
+    int chunkSize = applicationProperties.getBatch().getChunkSize();
+    List<BatchItemResultDTO> results = new ArrayList<>();
+    List<EmployeeDTO> chunk = new ArrayList<>(chunkSize);
+    List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+    try (JsonParser parser = objectMapper.getFactory().createParser(request.getInputStream())) {
+      try {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+          throw new BadRequestException("A batch must be a JSON array");
+        }
+      } catch (JsonProcessingException e) {
+        throw new BadRequestException("A batch must be a JSON array: " + e.getOriginalMessage());
+      }
+      int index = 0;
+      try {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+          if (token != JsonToken.START_OBJECT) {
+            results.add(unread(index, "not a JSON object"));
+            break;
+          }
+          EmployeeDTO employeeDTO = objectMapper.readValue(parser, EmployeeDTO.class);
+          String violations = validate(employeeDTO);
+          if (violations != null) {
+            results.add(BatchItemResultDTO.builder()
+              .index(index).id(employeeDTO.getId()).result(BatchItemResultDTO.Result.FAILED).message(violations)
+              .build());
+          } else {
+            chunk.add(employeeDTO);
+            chunkIndexes.add(index);
+            if (chunk.size() == chunkSize) {
+              saveChunk(chunk, chunkIndexes, results);
+            }
+          }
+          index++;
+        }
+      } catch (JsonProcessingException e) {
+        // the parser cannot resume after a malformed item, whose end is unknown
+        results.add(unread(index, e.getOriginalMessage()));
+      }
+    }
+    saveChunk(chunk, chunkIndexes, results);
+    results.sort((first, second) -> Integer.compare(first.getIndex(), second.getIndex()));
+    return ResponseEntity.ok(new GeneralWrapper<>(results).success());
+  }
+
+  private static BatchItemResultDTO unread(int index, String reason) {
+    return BatchItemResultDTO.builder()
+      .index(index)
+      .result(BatchItemResultDTO.Result.FAILED)
+      .message("Malformed batch item, this item and the next ones were not read: " + reason)
+      .build();
+  }
+
+  private String validate(EmployeeDTO employeeDTO) {
+    Set<ConstraintViolation<EmployeeDTO>> violations = validator.validate(employeeDTO);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+      .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+      .sorted()
+      .collect(Collectors.joining(", "));
+  }
+
+  private void saveChunk(List<EmployeeDTO> chunk, List<Integer> chunkIndexes, List<BatchItemResultDTO> results) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    try {
+      List<EmployeeDTO> saved = employeeService.saveAll(chunk);
+      for (int i = 0; i < saved.size(); i++) {
+        String requestedId = chunk.get(i).getId();
+        String savedId = saved.get(i).getId();
+        results.add(BatchItemResultDTO.builder()
+          .index(chunkIndexes.get(i))
+          .id(savedId)
+          .result(Objects.equals(requestedId, savedId) ? BatchItemResultDTO.Result.UPDATED : BatchItemResultDTO.Result.CREATED)
+          .build());
+      }
+    } catch (RuntimeException e) {
+      log.warn("Batch chunk of {} Employees failed : {}", chunk.size(), e.getMessage());
+      for (int i = 0; i < chunk.size(); i++) {
+        results.add(BatchItemResultDTO.builder()
+          .index(chunkIndexes.get(i))
+          .id(chunk.get(i).getId())
+          .result(BatchItemResultDTO.Result.FAILED)
+          .message(e.getMessage())
+          .build());
+      }
+    }
+    chunk.clear();
+    chunkIndexes.clear();
   }
 
   /**
    * {@code PUT  /employees/:id} : Updates an existing employee.
    *
+   * <p>
+   * With an {@code If-Match} entity tag, the employee is only updated if it is still at that version.
+   *
    * @param id          the id of the employeeDTO to save.
    * @param employeeDTO the employeeDTO to update.
+   * @param ifMatch     the entity tag of the version the update was made from.
    * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated employeeDTO,
    * or with status {@code 400 (Bad Request)} if the employeeDTO is not valid,
-   * or with status {@code 500 (Internal Server Error)} if the employeeDTO couldn't be updated.å
+   * or with status {@code 409 (Conflict)} if the employee was updated concurrently,
+   * or with status {@code 412 (Precondition Failed)} if the employee is not at the {@code If-Match} version,
+   * or with status {@code 500 (Internal Server Error)} if the employeeDTO couldn't be updated.
    */
   @PutMapping("/employees/{id}")
-  public ResponseEntity<GeneralWrapper<EmployeeDTO>> updateEmployee(
+  public CompletableFuture<ResponseEntity<GeneralWrapper<EmployeeDTO>>> updateEmployee(
     @PathVariable(value = "id", required = false) final String id,
-    @RequestBody EmployeeDTO employeeDTO
+    @RequestBody EmployeeDTO employeeDTO,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
   ) {
     log.debug("REST request to update Employee : {}, {}", id, employeeDTO);
     if (employeeDTO.getId() == null) {
@@ -91,30 +305,30 @@ public class EmployeeResource {
       throw new BadRequestException(INVALID_ID);
     }
 
-    if (!employeeRepository.existsById(id)) {
-      throw new BadRequestException("Entity not found");
-    }
-
-    EmployeeDTO result = employeeService.update(employeeDTO);
-    return ResponseEntity
-      .ok()
-      .body(new GeneralWrapper<>(result).success());
+    Long expectedVersion = ETagUtil.requiredVersion(ifMatch);
+    return async(() -> updated(employeeService.update(employeeDTO, expectedVersion)));
   }
 
   /**
    * {@code PATCH  /employees/:id} : Partial updates given fields of an existing employee, field will ignore if it is null
+   * <p>
+   * With an {@code If-Match} entity tag, the employee is only updated if it is still at that version.
    *
    * @param id          the id of the employeeDTO to save.
    * @param employeeDTO the employeeDTO to update.
+   * @param ifMatch     the entity tag of the version the update was made from.
    * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated employeeDTO,
    * or with status {@code 400 (Bad Request)} if the employeeDTO is not valid,
    * or with status {@code 404 (Not Found)} if the employeeDTO is not found,
+   * or with status {@code 409 (Conflict)} if the employee was updated concurrently,
+   * or with status {@code 412 (Precondition Failed)} if the employee is not at the {@code If-Match} version,
    * or with status {@code 500 (Internal Server Error)} if the employeeDTO couldn't be updated.
    */
   @PatchMapping(value = "/employees/{id}", consumes = {"application/json", "application/merge-patch+json"})
-  public ResponseEntity<GeneralWrapper<EmployeeDTO>> partialUpdateEmployee(
+  public CompletableFuture<ResponseEntity<GeneralWrapper<EmployeeDTO>>> partialUpdateEmployee(
     @PathVariable(value = "id", required = false) final String id,
-    @RequestBody EmployeeDTO employeeDTO
+    @RequestBody EmployeeDTO employeeDTO,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
   ) {
     log.debug("REST request to partial update Employee partially : {}, {}", id, employeeDTO);
     if (employeeDTO.getId() == null) {
@@ -123,42 +337,477 @@ public class EmployeeResource {
     if (!Objects.equals(id, employeeDTO.getId())) {
       throw new BadRequestException(INVALID_ID);
     }
-    if (!employeeRepository.existsById(id)) {
-      throw new BadRequestException("Entity not found");
+
+    Long expectedVersion = ETagUtil.requiredVersion(ifMatch);
+    return async(() -> updated(employeeService.partialUpdate(employeeDTO, expectedVersion)));
+  }
+
+  /**
+   * {@code POST  /employees/_deactivate} : Soft delete the employees selected by ids or by salary range.
+   *
+   * @param bulkDeactivateDTO the ids, or the salary range, of the employees to deactivate.
+   * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of deactivated employees,
+   * or with status {@code 400 (Bad Request)} if neither ids nor a salary range are given, if an id is blank, or if the
+   * range is empty.
+   */
+  @PostMapping("/employees/_deactivate")
+  public CompletableFuture<ResponseEntity<GeneralWrapper<BulkUpdateResultDTO>>> deactivateEmployees(@RequestBody BulkDeactivateDTO bulkDeactivateDTO) {
+    log.debug("REST request to deactivate Employees : {}", bulkDeactivateDTO);
+    boolean byIds = bulkDeactivateDTO.getIds() != null && !bulkDeactivateDTO.getIds().isEmpty();
+    boolean byRange = bulkDeactivateDTO.getMinSalary() != null || bulkDeactivateDTO.getMaxSalary() != null;
+    if (byIds == byRange) {
+      throw new BadRequestException("Either ids or a salary range is required");
+    }
+    if (byIds && bulkDeactivateDTO.getIds().stream().anyMatch(id -> id == null || id.isBlank())) {
+      throw new BadRequestException(INVALID_ID);
     }
+    checkSalaryRange(bulkDeactivateDTO.getMinSalary(), bulkDeactivateDTO.getMaxSalary());
+    return async(() -> {
+      int affected = byIds
+        ? employeeService.deactivate(bulkDeactivateDTO.getIds())
+        : employeeService.deactivate(bulkDeactivateDTO.getMinSalary(), bulkDeactivateDTO.getMaxSalary());
+      return ResponseEntity.ok(new GeneralWrapper<>(new BulkUpdateResultDTO(affected)).success());
+    });
+  }
 
-    var result = employeeService.partialUpdate(employeeDTO);
-    return ResponseEntity.ok(new GeneralWrapper<>(result).success());
+  /**
+   * {@code POST  /employees/_adjust-salary} : Adjust the salary of the active employees of a salary range.
+   *
+   * @param salaryAdjustmentDTO the percentage or amount of the adjustment, and the salary range.
+   * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of updated employees,
+   * or with status {@code 400 (Bad Request)} if not exactly one of percentage and amount is given, if the percentage
+   * would bring the salaries to zero or below, or if the range is empty.
+   */
+  @PostMapping("/employees/_adjust-salary")
+  public CompletableFuture<ResponseEntity<GeneralWrapper<BulkUpdateResultDTO>>> adjustSalaries(@RequestBody SalaryAdjustmentDTO salaryAdjustmentDTO) {
+    log.debug("REST request to adjust salaries : {}", salaryAdjustmentDTO);
+    if ((salaryAdjustmentDTO.getPercentage() == null) == (salaryAdjustmentDTO.getAmount() == null)) {
+      throw new BadRequestException("Either percentage or amount is required");
+    }
+    if (salaryAdjustmentDTO.getPercentage() != null && salaryAdjustmentDTO.getPercentage() <= -100) {
+      throw new BadRequestException("Invalid percentage, must be greater than -100");
+    }
+    checkSalaryRange(salaryAdjustmentDTO.getMinSalary(), salaryAdjustmentDTO.getMaxSalary());
+    return async(() -> {
+      int affected = employeeService.adjustSalaries(
+        salaryAdjustmentDTO.getPercentage(),
+        salaryAdjustmentDTO.getAmount(),
+        salaryAdjustmentDTO.getMinSalary(),
+        salaryAdjustmentDTO.getMaxSalary()
+      );
+      return ResponseEntity.ok(new GeneralWrapper<>(new BulkUpdateResultDTO(affected)).success());
+    });
   }
 
   /**
-   * {@code GET  /employees} : get all the employees.
+   * {@code GET  /employees} : get all the employees, or a page of them when {@code limit} or {@code after} is given.
+   * <p>
+   * The entity tag is a digest of the ids and versions of the listed employees, a matching {@code If-None-Match}
+   * is answered without serializing them.
    *
-   * @param status the status of employee.
-   * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employees in body.
+   * @param status      the status of employee.
+   * @param limit       the maximum number of employees in the page.
+   * @param after       the cursor returned as {@code next_cursor} by the previous page.
+   * @param ifNoneMatch the entity tags of the copies held by the client.
+   * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employees in body,
+   * or with status {@code 304 (Not Modified)} if the list did not change,
+   * or with status {@code 400 (Bad Request)} if the limit or the cursor is not valid.
    */
   @GetMapping("/employees")
-  public ResponseEntity<GeneralWrapper<List<EmployeeDTO>>> getAllEmployees(
-    @RequestParam(value = "status", required = false, defaultValue = "true") Boolean status
+  public CompletableFuture<ResponseEntity<GeneralWrapper<List<EmployeeDTO>>>> getAllEmployees(
+    @RequestParam(value = "status", required = false, defaultValue = "true") Boolean status,
+    @RequestParam(value = "limit", required = false) Integer limit,
+    @RequestParam(value = "after", required = false) String after,
+    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
   ) {
     log.debug("REST request to get a page of Employees");
-    List<EmployeeDTO> listEmployee = employeeService.findAll(status);
-    return ResponseEntity.ok()
-      .body(new GeneralWrapper<>(listEmployee).success());
+    if (limit == null && after == null) {
+      return async(() -> conditional(employeeService.findAll(status), null, ifNoneMatch));
+    }
+    int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+    if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+      throw new BadRequestException("Invalid limit");
+    }
+    return async(() -> {
+      CursorPage<EmployeeDTO> page = employeeService.findPage(status, after, pageSize);
+      return conditional(page.getContent(), page.getNextCursor(), ifNoneMatch);
+    });
+  }
+
+  /**
+   * {@code GET  /employees?fields=id,email} : get only the requested fields of all the employees, or of a page of
+   * them when {@code limit} or {@code after} is given.
+   * <p>
+   * Only the columns of the requested fields are selected, without hydrating the entities, and only these fields
+   * are serialized. The entity tag is computed as for the complete employees, the requested fields included.
+   *
+   * @param fields      the comma separated names of the fields, among {@code id}, {@code first_name},
+   *                    {@code last_name}, {@code email}, {@code phone_number}, {@code salary}, {@code status},
+   *                    {@code level} and {@code version}.
+   * @param status      the status of employee.
+   * @param limit       the maximum number of employees in the page.
+   * @param after       the cursor returned as {@code next_cursor} by the previous page.
+   * @param ifNoneMatch the entity tags of the copies held by the client.
+   * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the fields of the employees in body,
+   * or with status {@code 304 (Not Modified)} if the list did not change,
+   * or with status {@code 400 (Bad Request)} if a field, the limit or the cursor is not valid.
+   */
+  @GetMapping(value = "/employees", params = "fields")
+  public CompletableFuture<ResponseEntity<GeneralWrapper<List<EmployeeFieldsDTO>>>> getAllEmployeeFields(
+    @RequestParam(value = "fields") String fields,
+    @RequestParam(value = "status", required = false, defaultValue = "true") Boolean status,
+    @RequestParam(value = "limit", required = false) Integer limit,
+    @RequestParam(value = "after", required = false) String after,
+    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+  ) {
+    log.debug("REST request to get the fields {} of Employees", fields);
+    Set<EmployeeField> requested = parseFields(fields);
+    Integer pageSize = limit == null && after == null ? null : Objects.requireNonNullElse(limit, DEFAULT_PAGE_SIZE);
+    if (pageSize != null && (pageSize < 1 || pageSize > MAX_PAGE_SIZE)) {
+      throw new BadRequestException("Invalid limit");
+    }
+    return async(() -> {
+      CursorPage<EmployeeFieldsDTO> page = employeeService.findFields(requested, status, after, pageSize);
+      String etag = ETagUtil.of(
+        page.getContent(), EmployeeFieldsDTO::getId, EmployeeFieldsDTO::getVersion,
+        fieldsSuffix(requested, page.getNextCursor())
+      );
+      return conditional(page.getContent(), etag, page.getNextCursor(), ifNoneMatch);
+    });
+  }
+
+  /**
+   * {@code GET  /employees/_query} : query the employees by name and email prefixes, salary range and levels.
+   * <p>
+   * Every filter is applied by the database, the levels as ranges of the salary. The total, in the
+   * {@code X-Total-Count} header, is only counted when the page does not tell it.
+   *
+   * @param firstName the beginning of the first name, case-sensitive.
+   * @param lastName  the beginning of the last name, case-sensitive.
+   * @param email     the beginning of the email, case-sensitive.
+   * @param minSalary the inclusive lower bound of the salary.
+   * @param maxSalary the exclusive upper bound of the salary.
+   * @param levels    the comma separated labels of the levels, any of them.
+   * @param status    the status of employee.
+   * @param page      the number of the page, from {@code 0}.
+   * @param size      the maximum number of employees in the page.
+   * @param sort      the comma separated names of the sort fields, descending when prefixed with {@code -}, the id
+   *                  being the last one.
+   * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of employees in body,
+   * or with status {@code 400 (Bad Request)} if a level, the size or a sort field is not valid.
+   */
+  @GetMapping("/employees/_query")
+  public CompletableFuture<ResponseEntity<GeneralWrapper<List<EmployeeDTO>>>> queryEmployees(
+    @RequestParam(value = "first_name", required = false) String firstName,
+    @RequestParam(value = "last_name", required = false) String lastName,
+    @RequestParam(value = "email", required = false) String email,
+    @RequestParam(value = "min_salary", required = false) Double minSalary,
+    @RequestParam(value = "max_salary", required = false) Double maxSalary,
+    @RequestParam(value = "level", required = false) String levels,
+    @RequestParam(value = "status", required = false, defaultValue = "true") Boolean status,
+    @RequestParam(value = "page", required = false, defaultValue = "0") int page,
+    @RequestParam(value = "size", required = false, defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+    @RequestParam(value = "sort", required = false) String sort
+  ) {
+    log.debug("REST request to query Employees");
+    if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+      throw new BadRequestException("Invalid page");
+    }
+    EmployeeCriteria criteria = EmployeeCriteria.builder()
+      .status(status)
+      .firstNamePrefix(firstName)
+      .lastNamePrefix(lastName)
+      .emailPrefix(email)
+      .minSalary(minSalary)
+      .maxSalary(maxSalary)
+      .levels(levels == null ? null : parseLevels(levels))
+      .build();
+    Pageable pageable = PageRequest.of(page, size, parseSort(sort));
+    return async(() -> {
+      Page<EmployeeDTO> result = employeeQueryService.findByCriteria(criteria, pageable);
+      return ResponseEntity.ok()
+        .header(TOTAL_COUNT, String.valueOf(result.getTotalElements()))
+        .body(new GeneralWrapper<>(result.getContent()).success());
+    });
+  }
+
+  /**
+   * {@code GET  /employees/_search} : type-ahead search of the employees by the beginning of the words of their
+   * first name, last name and email local part.
+   * <p>
+   * Exact words rank first, then the shortest completions, first names before last names before emails.
+   *
+   * @param query  the beginning of the words to search, every word must match.
+   * @param status the status of employee.
+   * @param limit  the maximum number of employees.
+   * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the best ranked employees in body,
+   * or with status {@code 400 (Bad Request)} if the limit is not valid.
+   */
+  @GetMapping("/employees/_search")
+  public ResponseEntity<GeneralWrapper<List<EmployeeSearchHitDTO>>> searchEmployees(
+    @RequestParam(value = "q") String query,
+    @RequestParam(value = "status", required = false, defaultValue = "true") Boolean status,
+    @RequestParam(value = "limit", required = false) Integer limit
+  ) {
+    log.debug("REST request to search Employees : {}", query);
+    int searchLimit = limit == null ? DEFAULT_SEARCH_LIMIT : limit;
+    if (searchLimit < 1 || searchLimit > MAX_SEARCH_LIMIT) {
+      throw new BadRequestException("Invalid limit");
+    }
+    return ResponseEntity.ok(new GeneralWrapper<>(employeeService.search(query, status, searchLimit)).success());
+  }
+
+  /**
+   * {@code GET  /employees/salaries} : get the employees of a salary range, by increasing salary.
+   *
+   * @param status    the status of employee, both statuses when not given.
+   * @param minSalary the inclusive lower bound of the salaries.
+   * @param maxSalary the exclusive upper bound of the salaries.
+   * @param limit     the maximum number of employees.
+   * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the number of employees of the range and the
+   * first ones in body, or with status {@code 400 (Bad Request)} if the bounds or the limit are not valid.
+   */
+  @GetMapping("/employees/salaries")
+  public ResponseEntity<GeneralWrapper<SalaryRangeDTO>> getEmployeesBySalaryRange(
+    @RequestParam(value = "status", required = false) Boolean status,
+    @RequestParam(value = "min_salary", required = false) Double minSalary,
+    @RequestParam(value = "max_salary", required = false) Double maxSalary,
+    @RequestParam(value = "limit", required = false) Integer limit
+  ) {
+    log.debug("REST request to get Employees by salary range : [{}, {})", minSalary, maxSalary);
+    int rangeLimit = limit == null ? DEFAULT_SALARY_LIMIT : limit;
+    if (rangeLimit < 0 || rangeLimit > MAX_SALARY_LIMIT) {
+      throw new BadRequestException("Invalid limit");
+    }
+    if (minSalary != null && maxSalary != null && maxSalary < minSalary) {
+      throw new BadRequestException("Invalid salary range");
+    }
+    return ResponseEntity.ok(new GeneralWrapper<>(
+      employeeService.findBySalaryRange(status, minSalary, maxSalary, rangeLimit)
+    ).success());
+  }
+
+  /**
+   * {@code GET  /employees/salaries/levels} : count the employees per level.
+   *
+   * @param status the status of employee, both statuses when not given.
+   * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count of every level in body.
+   */
+  @GetMapping("/employees/salaries/levels")
+  public ResponseEntity<GeneralWrapper<List<SalaryBucketDTO>>> countEmployeesBySalaryLevel(
+    @RequestParam(value = "status", required = false) Boolean status
+  ) {
+    log.debug("REST request to count Employees by salary level");
+    return ResponseEntity.ok(new GeneralWrapper<>(employeeService.countBySalaryLevel(status)).success());
+  }
+
+  /**
+   * {@code GET  /employees/salaries/percentiles} : get percentiles of the salaries, by the nearest-rank method.
+   *
+   * @param status      the status of employee, both statuses when not given.
+   * @param percentiles the percentiles, 50, 90 and 99 when not given.
+   * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the salary of every percentile in body,
+   * or with status {@code 400 (Bad Request)} if a percentile is not in {@code (0, 100]}.
+   */
+  @GetMapping("/employees/salaries/percentiles")
+  public ResponseEntity<GeneralWrapper<List<SalaryPercentileDTO>>> getSalaryPercentiles(
+    @RequestParam(value = "status", required = false) Boolean status,
+    @RequestParam(value = "p", required = false) double[] percentiles
+  ) {
+    log.debug("REST request to get the salary percentiles of Employees");
+    double[] requested = percentiles == null || percentiles.length == 0 ? DEFAULT_PERCENTILES : percentiles;
+    for (double percentile : requested) {
+      if (!(percentile > 0 && percentile <= 100)) {
+        throw new BadRequestException("Invalid percentile");
+      }
+    }
+    return ResponseEntity.ok(new GeneralWrapper<>(employeeService.findSalaryPercentiles(status, requested)).success());
+  }
+
+  /**
+   * {@code GET  /employees/salaries/histogram} : count the employees of equal width salary buckets.
+   *
+   * @param status    the status of employee, both statuses when not given.
+   * @param minSalary the lower bound of the first bucket, the lowest salary when not given.
+   * @param maxSalary the inclusive upper bound of the last bucket, the highest salary when not given.
+   * @param buckets   the number of buckets.
+   * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the buckets in body,
+   * or with status {@code 400 (Bad Request)} if the bounds or the number of buckets are not valid.
+   */
+  @GetMapping("/employees/salaries/histogram")
+  public ResponseEntity<GeneralWrapper<List<SalaryBucketDTO>>> getSalaryHistogram(
+    @RequestParam(value = "status", required = false) Boolean status,
+    @RequestParam(value = "min_salary", required = false) Double minSalary,
+    @RequestParam(value = "max_salary", required = false) Double maxSalary,
+    @RequestParam(value = "buckets", required = false) Integer buckets
+  ) {
+    log.debug("REST request to get the salary histogram of Employees");
+    int bucketCount = buckets == null ? DEFAULT_HISTOGRAM_BUCKETS : buckets;
+    if (bucketCount < 1 || bucketCount > MAX_HISTOGRAM_BUCKETS) {
+      throw new BadRequestException("Invalid buckets");
+    }
+    if (minSalary != null && maxSalary != null && maxSalary < minSalary) {
+      throw new BadRequestException("Invalid salary range");
+    }
+    return ResponseEntity.ok(new GeneralWrapper<>(
+      employeeService.findSalaryHistogram(status, minSalary, maxSalary, bucketCount)
+    ).success());
+  }
+
+  /**
+   * {@code GET  /employees/stats/levels} : get the count and min, max, average and total salary per level and status.
+   *
+   * @param status the status of employee, both statuses when not given.
+   * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the statistics in body.
+   */
+  @GetMapping("/employees/stats/levels")
+  public CompletableFuture<ResponseEntity<GeneralWrapper<List<EmployeeLevelStatsDTO>>>> getLevelStats(
+    @RequestParam(value = "status", required = false) Boolean status
+  ) {
+    log.debug("REST request to get the level statistics of Employees");
+    return async(() -> ResponseEntity.ok(new GeneralWrapper<>(employeeService.findLevelStats(status)).success()));
+  }
+
+  /**
+   * {@code GET  /employees/changes} : stream the committed changes of the employees as Server-Sent Events.
+   * <p>
+   * Every {@code change} event holds the state of a changed employee, or the ids of the employees of a set-based
+   * update. A client reconnecting with {@code Last-Event-ID} is first sent the changes it missed, or a {@code reset}
+   * event when they are no longer known, after which the employees must be read again. A client falling too far
+   * behind is disconnected, and resumes when it reconnects.
+   *
+   * @param lastEventId the id of the last event received, when resuming.
+   * @return the stream of the changes, or with status {@code 503 (Service Unavailable)} if there are too many
+   * subscribers.
+   */
+  @GetMapping(value = "/employees/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamEmployeeChanges(
+    @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId
+  ) {
+    log.debug("REST request to stream the Employee changes from : {}", lastEventId);
+    return employeeService.subscribeToChanges(lastEventId);
+  }
+
+  /**
+   * {@code GET  /employees/export} : export all the employees as newline delimited JSON.
+   * <p>
+   * Every employee is written and flushed as soon as it is read, so memory use does not depend on the table size.
+   *
+   * @param response the response to stream the employees to.
+   * @throws IOException if the response cannot be written.
+   */
+  @GetMapping(value = "/employees/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public void exportEmployees(HttpServletResponse response) throws IOException {
+    log.debug("REST request to export Employees");
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+      generator.setRootValueSeparator(null);
+      long count = employeeService.exportAll(employeeDTO -> {
+        try {
+          objectMapper.writeValue(generator, employeeDTO);
+          generator.writeRaw('\n');
+          generator.flush();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+      log.debug("Exported {} Employees", count);
+    }
   }
 
   /**
    * {@code GET  /employees/:id} : get the "id" employee.
+   * <p>
+   * The entity tag is the version of the employee. A matching {@code If-None-Match} is answered from the version
+   * alone, without loading, mapping or serializing the employee.
    *
-   * @param id the id of the employeeDTO to retrieve.
-   * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the employeeDTO, or with status {@code 404 (Not Found)}.
+   * @param id          the id of the employeeDTO to retrieve.
+   * @param ifNoneMatch the entity tags of the copies held by the client.
+   * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the employeeDTO,
+   * or with status {@code 304 (Not Modified)} if the employee did not change, or with status {@code 404 (Not Found)}.
    */
   @GetMapping("/employees/{id}")
-  public ResponseEntity<GeneralWrapper<EmployeeDTO>> getEmployee(@PathVariable String id) {
+  public CompletableFuture<ResponseEntity<GeneralWrapper<EmployeeDTO>>> getEmployee(
+    @PathVariable String id,
+    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+  ) {
     log.debug("REST request to get Employee : {}", id);
-    EmployeeDTO employeeDTO = employeeService.findOne(id);
-    return ResponseEntity.ok()
-      .body(new GeneralWrapper<>(employeeDTO).success());
+    return async(() -> {
+      if (ifNoneMatch != null) {
+        Optional<String> etag = employeeService.findVersion(id).map(ETagUtil::of);
+        if (etag.isPresent() && ETagUtil.matches(ifNoneMatch, etag.get())) {
+          return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).build();
+        }
+      }
+      EmployeeDTO employeeDTO = employeeService.findOne(id);
+      return ResponseEntity.ok()
+        .eTag(ETagUtil.of(employeeDTO.getVersion()))
+        .body(new GeneralWrapper<>(employeeDTO).success());
+    });
+  }
+
+  /**
+   * {@code POST  /employees/_mget} : get the employees of a list of ids.
+   * <p>
+   * The employees not cached are read with one {@code IN} query per chunk of ids, rather than one request and one
+   * query per id.
+   *
+   * @param employeeIdsDTO the ids of the employees, at most {@value #MAX_MGET_IDS}.
+   * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of every id in the
+   * requested order, marked as not found when unknown, or with status {@code 400 (Bad Request)} if the ids are missing,
+   * blank or too many.
+   */
+  @PostMapping("/employees/_mget")
+  public CompletableFuture<ResponseEntity<GeneralWrapper<List<EmployeeLookupDTO>>>> getEmployeesByIds(
+    @RequestBody EmployeeIdsDTO employeeIdsDTO
+  ) {
+    List<String> ids = employeeIdsDTO.getIds();
+    if (ids == null) {
+      throw new BadRequestException("The ids are required");
+    }
+    if (ids.size() > MAX_MGET_IDS) {
+      throw new BadRequestException("At most " + MAX_MGET_IDS + " ids can be requested");
+    }
+    if (ids.stream().anyMatch(id -> id == null || id.isBlank())) {
+      throw new BadRequestException(INVALID_ID);
+    }
+    log.debug("REST request to get {} Employees by id", ids.size());
+    return async(() -> ResponseEntity.ok(new GeneralWrapper<>(employeeService.findAllById(ids)).success()));
+  }
+
+  /**
+   * {@code GET  /employees/:id?fields=id,email} : get only the requested fields of the "id" employee.
+   * <p>
+   * The employee is served as by {@link #getEmployee(String, String)}, from the cache when cached, and only the
+   * requested fields are serialized.
+   *
+   * @param id          the id of the employeeDTO to retrieve.
+   * @param fields      the comma separated names of the fields, see {@link #getAllEmployeeFields}.
+   * @param ifNoneMatch the entity tags of the copies held by the client.
+   * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the fields of the employee,
+   * or with status {@code 304 (Not Modified)} if the employee did not change,
+   * or with status {@code 400 (Bad Request)} if a field is not valid.
+   */
+  @GetMapping(value = "/employees/{id}", params = "fields")
+  public CompletableFuture<ResponseEntity<GeneralWrapper<EmployeeFieldsDTO>>> getEmployeeFields(
+    @PathVariable String id,
+    @RequestParam(value = "fields") String fields,
+    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+  ) {
+    log.debug("REST request to get the fields {} of Employee : {}", fields, id);
+    Set<EmployeeField> requested = parseFields(fields);
+    return async(() -> {
+      if (ifNoneMatch != null) {
+        Optional<String> etag = employeeService.findVersion(id).map(ETagUtil::of);
+        if (etag.isPresent() && ETagUtil.matches(ifNoneMatch, etag.get())) {
+          return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).build();
+        }
+      }
+      EmployeeFieldsDTO employeeFields = employeeService.findOneFields(id, requested);
+      return ResponseEntity.ok()
+        .eTag(ETagUtil.of(employeeFields.getVersion()))
+        .body(new GeneralWrapper<>(employeeFields).success());
+    });
   }
 
   /**
@@ -168,11 +817,120 @@ public class EmployeeResource {
    * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
    */
   @DeleteMapping("/employees/{id}")
-  public ResponseEntity<Void> deleteEmployee(@PathVariable String id) {
+  public CompletableFuture<ResponseEntity<Void>> deleteEmployee(@PathVariable String id) {
     log.debug("REST request to delete Employee : {}", id);
-    employeeService.delete(id);
-    return ResponseEntity
-      .noContent()
-      .build();
+    return async(() -> {
+      employeeService.delete(id);
+      return ResponseEntity
+        .noContent()
+        .<Void>build();
+    });
+  }
+
+  /**
+   * Answer an updated employee with the entity tag of its new version.
+   */
+  private static ResponseEntity<GeneralWrapper<EmployeeDTO>> updated(EmployeeDTO employeeDTO) {
+    return ResponseEntity.ok()
+      .eTag(ETagUtil.of(employeeDTO.getVersion()))
+      .body(new GeneralWrapper<>(employeeDTO).success());
+  }
+
+  /**
+   * Answer a list of employees, or {@code 304 (Not Modified)} without serializing it if the client copy is current.
+   */
+  private static ResponseEntity<GeneralWrapper<List<EmployeeDTO>>> conditional(
+    List<EmployeeDTO> employees, String nextCursor, String ifNoneMatch
+  ) {
+    return conditional(employees, ETagUtil.of(employees, nextCursor), nextCursor, ifNoneMatch);
+  }
+
+  private static <T> ResponseEntity<GeneralWrapper<List<T>>> conditional(
+    List<T> employees, String etag, String nextCursor, String ifNoneMatch
+  ) {
+    if (ETagUtil.matches(ifNoneMatch, etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+    return ResponseEntity.ok()
+      .eTag(etag)
+      .body(new GeneralWrapper<>(employees).success().nextCursor(nextCursor));
+  }
+
+  /**
+   * Reject an empty {@code [minSalary, maxSalary)} range, which would match nothing yet trigger a refill of the
+   * salary index.
+   */
+  private static void checkSalaryRange(Double minSalary, Double maxSalary) {
+    if (minSalary != null && maxSalary != null && maxSalary <= minSalary) {
+      throw new BadRequestException("Invalid salary range");
+    }
+  }
+
+  private static Set<EmployeeLevel> parseLevels(String levels) {
+    Set<EmployeeLevel> result = EnumSet.noneOf(EmployeeLevel.class);
+    for (String label : levels.split(",")) {
+      try {
+        result.add(EmployeeLevel.fromLabel(label.trim()));
+      } catch (IllegalArgumentException e) {
+        throw new BadRequestException(e.getMessage());
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Parse the sort fields, the id being appended to make the order total.
+   */
+  private static Sort parseSort(String sort) {
+    List<Sort.Order> orders = new ArrayList<>();
+    if (sort != null) {
+      for (String name : sort.split(",")) {
+        String trimmed = name.trim();
+        boolean descending = trimmed.startsWith("-");
+        String fieldName = descending ? trimmed.substring(1) : trimmed;
+        EmployeeField field = EmployeeField.ofName(fieldName)
+          .orElseThrow(() -> new BadRequestException("Unknown sort field " + fieldName));
+        orders.add(descending ? Sort.Order.desc(field.getAttribute()) : Sort.Order.asc(field.getAttribute()));
+      }
+    }
+    orders.add(Sort.Order.asc(EmployeeField.ID.getAttribute()));
+    return Sort.by(orders);
+  }
+
+  /**
+   * Parse the comma separated JSON names of the requested fields.
+   */
+  private static Set<EmployeeField> parseFields(String fields) {
+    Set<EmployeeField> result = EnumSet.noneOf(EmployeeField.class);
+    for (String name : fields.split(",")) {
+      String trimmed = name.trim();
+      if (!trimmed.isEmpty()) {
+        result.add(EmployeeField.ofName(trimmed).orElseThrow(() -> new BadRequestException("Unknown field " + trimmed)));
+      }
+    }
+    if (result.isEmpty()) {
+      throw new BadRequestException("At least one field is required");
+    }
+    return result;
+  }
+
+  /**
+   * The entity tag suffix of a list of fields: the field names in their canonical order, then the next cursor.
+   */
+  private static String fieldsSuffix(Set<EmployeeField> fields, String nextCursor) {
+    StringBuilder suffix = new StringBuilder("fields=");
+    for (EmployeeField field : fields) {
+      suffix.append(field.getName()).append(',');
+    }
+    return nextCursor == null ? suffix.toString() : suffix.append(';').append(nextCursor).toString();
+  }
+
+  /**
+   * Run the service calls of a request on the employee executor.
+   *
+   * @throws org.springframework.core.task.TaskRejectedException if the executor queue is full.
+   */
+  private <T> CompletableFuture<T> async(Supplier<T> supplier) {
+    return CompletableFuture.supplyAsync(supplier, taskExecutor);
   }
 }
@@ -0,0 +1,64 @@
+package com.bfi.ariedemo.controller;
+
+import com.bfi.ariedemo.domain.Employee;
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.dto.GeneralWrapper;
+import com.bfi.ariedemo.service.ReactiveEmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller reading {@link Employee} without blocking a servlet thread, over R2DBC.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+public class ReactiveEmployeeResource {
+
+  private final Logger log = LoggerFactory.getLogger(ReactiveEmployeeResource.class);
+
+  private final ReactiveEmployeeService reactiveEmployeeService;
+
+  public ReactiveEmployeeResource(ReactiveEmployeeService reactiveEmployeeService) {
+    this.reactiveEmployeeService = reactiveEmployeeService;
+  }
+
+  /**
+   * {@code GET  /reactive/employees} : stream the employees.
+   * <p>
+   * As newline delimited JSON, every employee is written when read and the next row is only
+   * requested once it is written. As JSON, the employees are collected into an array first.
+   *
+   * @param status the status of employee.
+   * @return the employees.
+   */
+  @GetMapping(
+    value = "/employees",
+    produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE}
+  )
+  public Flux<EmployeeDTO> getAllEmployees(
+    @RequestParam(value = "status", required = false, defaultValue = "true") Boolean status
+  ) {
+    log.debug("REST request to stream Employees");
+    return reactiveEmployeeService.findAll(status);
+  }
+
+  /**
+   * {@code GET  /reactive/employees/:id} : get the "id" employee.
+   *
+   * @param id the id of the employeeDTO to retrieve.
+   * @return the employeeDTO, or with status {@code 400 (Bad Request)} if it is not found, as the blocking API.
+   */
+  @GetMapping("/employees/{id}")
+  public Mono<GeneralWrapper<EmployeeDTO>> getEmployee(@PathVariable String id) {
+    log.debug("REST request to get Employee reactively : {}", id);
+    return reactiveEmployeeService.findOne(id).map(employeeDTO -> new GeneralWrapper<>(employeeDTO).success());
+  }
+}
@@ -3,6 +3,8 @@ package com.bfi.ariedemo.domain;
 import lombok.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
@@ -17,8 +19,14 @@ import java.io.Serializable;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "employee")
+@Table(name = "employee", indexes = {
+  @Index(name = "idx_employee_status_email_id", columnList = "status, email, id"),
+  @Index(name = "idx_employee_status_salary", columnList = "status, salary"),
+  @Index(name = "idx_employee_status_first_name", columnList = "status, first_name"),
+  @Index(name = "idx_employee_status_last_name", columnList = "status, last_name")
+})
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @SuppressWarnings({"common-java:DuplicatedBlocks", "unused"})
 public class Employee implements Serializable {
 
@@ -53,6 +61,15 @@ public class Employee implements Serializable {
   @Column(name = "status")
   private boolean status = true;
 
+  /**
+   * Incremented by every update, including the set-based ones. Primitive so that an employee with an id is not taken
+   * for a new one when saved.
+   */
+  @Version
+  @ColumnDefault("0")
+  @Column(name = "version", nullable = false)
+  private long version;
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -0,0 +1,94 @@
+package com.bfi.ariedemo.domain;
+
+import lombok.Getter;
+
+/**
+ * The salary levels of an {@link Employee}, the single definition of their thresholds.
+ */
+@Getter
+public enum EmployeeLevel {
+  BRONZE("Bronze", null, 5000d),
+  SILVER("Silver", 5000d, 10000d),
+  GOLD("Gold", 10000d, 15000d),
+  PLATINUM("Platinum", 15000d, null);
+
+  private static final EmployeeLevel[] LEVELS = values();
+
+  private final String label;
+
+  /**
+   * Inclusive lower bound of the salaries of the level, {@code null} for the lowest level.
+   */
+  private final Double minSalary;
+
+  /**
+   * Exclusive upper bound of the salaries of the level, {@code null} for the highest level.
+   */
+  private final Double maxSalary;
+
+  EmployeeLevel(String label, Double minSalary, Double maxSalary) {
+    this.label = label;
+    this.minSalary = minSalary;
+    this.maxSalary = maxSalary;
+  }
+
+  /**
+   * Get the level of a salary.
+   *
+   * @param salary the salary.
+   * @return the level of the salary.
+   */
+  public static EmployeeLevel of(double salary) {
+    for (EmployeeLevel level : LEVELS) {
+      if (level.maxSalary == null || salary < level.maxSalary) {
+        return level;
+      }
+    }
+    throw new IllegalStateException("No level for salary " + salary);
+  }
+
+  /**
+   * Get the label of the level of a salary.
+   *
+   * @param salary the salary.
+   * @return the label of the level, {@code null} for a {@code null} salary.
+   */
+  public static String labelOf(Double salary) {
+    return salary == null ? null : of(salary).label;
+  }
+
+  /**
+   * Get the level with the given label.
+   *
+   * @param label the label of the level, ignoring case.
+   * @return the level.
+   * @throws IllegalArgumentException if no level has this label.
+   */
+  public static EmployeeLevel fromLabel(String label) {
+    for (EmployeeLevel level : LEVELS) {
+      if (level.label.equalsIgnoreCase(label)) {
+        return level;
+      }
+    }
+    throw new IllegalArgumentException("Unknown level " + label);
+  }
+
+  /**
+   * SQL {@code CASE} expression computing the level label of a salary column, matching {@link #of(double)}.
+   *
+   * @param salaryColumn the salary column.
+   * @return the SQL expression, {@code null} for a {@code null} salary.
+   */
+  public static String sqlCaseExpression(String salaryColumn) {
+    StringBuilder sql = new StringBuilder("case when ").append(salaryColumn).append(" is null then null");
+    for (EmployeeLevel level : LEVELS) {
+      if (level.maxSalary == null) {
+        sql.append(" else '").append(level.label).append('\'');
+      } else {
+        sql.append(" when ").append(salaryColumn).append(" < ").append(level.maxSalary)
+          .append(" then '").append(level.label).append('\'');
+      }
+    }
+    return sql.append(" end").toString();
+  }
+}
@@ -0,0 +1,33 @@
+package com.bfi.ariedemo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * Outcome of one item of a batch of employees.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResultDTO implements Serializable {
+
+  public enum Result {
+    CREATED,
+    UPDATED,
+    FAILED
+  }
+
+  /**
+   * Position of the item in the submitted array.
+   */
+  private int index;
+
+  private String id;
+
+  private Result result;
+
+  private String message;
+}
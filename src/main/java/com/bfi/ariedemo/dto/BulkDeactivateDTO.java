@@ -0,0 +1,25 @@
+package com.bfi.ariedemo.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Selection of the employees to deactivate, either by ids or by salary range.
+ */
+@Data
+public class BulkDeactivateDTO implements Serializable {
+
+  private List<String> ids;
+
+  /**
+   * Inclusive lower bound of the salary range.
+   */
+  private Double minSalary;
+
+  /**
+   * Exclusive upper bound of the salary range.
+   */
+  private Double maxSalary;
+}
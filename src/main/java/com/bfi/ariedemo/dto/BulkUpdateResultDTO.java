@@ -0,0 +1,19 @@
+package com.bfi.ariedemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * Outcome of a set-based update of employees.
+ */
+@Data
+@AllArgsConstructor
+public class BulkUpdateResultDTO implements Serializable {
+
+  /**
+   * Number of updated rows.
+   */
+  private int affected;
+}
@@ -0,0 +1,23 @@
+package com.bfi.ariedemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A page of a keyset paginated listing together with the cursor of the next page.
+ *
+ * @param <T> the type of the page content.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+  private final List<T> content;
+
+  /**
+   * Cursor of the next page, {@code null} when this is the last page.
+   */
+  private final String nextCursor;
+}
@@ -0,0 +1,43 @@
+package com.bfi.ariedemo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * A committed change of the employees, as sent by the change feed.
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeChangeDTO implements Serializable {
+
+  /**
+   * The position of the change in the feed, increasing in publication order.
+   */
+  private long sequence;
+
+  /**
+   * {@code CREATED}, {@code UPDATED}, {@code PATCHED} or {@code DELETED} for a single employee, {@code DEACTIVATED}
+   * or {@code SALARY_ADJUSTED} for a set-based update.
+   */
+  private String type;
+
+  /**
+   * The state of the changed employee, its version orders the changes of a same employee.
+   */
+  private EmployeeDTO employee;
+
+  /**
+   * The ids of the employees of a set-based update, {@code null} when selected by criteria.
+   */
+  private Set<String> ids;
+
+  /**
+   * The number of employees of a set-based update.
+   */
+  private Integer affected;
+}
@@ -0,0 +1,49 @@
+package com.bfi.ariedemo.dto;
+
+import com.bfi.ariedemo.domain.EmployeeLevel;
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * Filters of the employee query API, all of them optional but the status and combined with {@code and}.
+ */
+@Data
+@Builder
+public class EmployeeCriteria implements Serializable {
+
+  @Builder.Default
+  private boolean status = true;
+
+  /**
+   * Case-sensitive beginning of the first name.
+   */
+  private String firstNamePrefix;
+
+  /**
+   * Case-sensitive beginning of the last name.
+   */
+  private String lastNamePrefix;
+
+  /**
+   * Case-sensitive beginning of the email.
+   */
+  private String emailPrefix;
+
+  /**
+   * Inclusive lower bound of the salary.
+   */
+  private Double minSalary;
+
+  /**
+   * Exclusive upper bound of the salary.
+   */
+  private Double maxSalary;
+
+  /**
+   * The levels of the salary, any of them.
+   */
+  private Set<EmployeeLevel> levels;
+}
@@ -39,6 +39,11 @@ public class EmployeeDTO implements Serializable {
 
   private String level;
 
+  /**
+   * The version of the employee, incremented by every update.
+   */
+  private Long version;
+
 
   @Override
   public boolean equals(Object o) {
@@ -0,0 +1,64 @@
+package com.bfi.ariedemo.dto;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The fields of an {@link EmployeeDTO} that can be requested alone, with the entity attribute each one is read from.
+ */
+public enum EmployeeField {
+  ID("id", "id", EmployeeDTO::getId),
+  FIRST_NAME("first_name", "firstName", EmployeeDTO::getFirstName),
+  LAST_NAME("last_name", "lastName", EmployeeDTO::getLastName),
+  EMAIL("email", "email", EmployeeDTO::getEmail),
+  PHONE_NUMBER("phone_number", "phoneNumber", EmployeeDTO::getPhoneNumber),
+  SALARY("salary", "salary", EmployeeDTO::getSalary),
+  STATUS("status", "status", EmployeeDTO::isStatus),
+  /**
+   * Computed from the salary.
+   */
+  LEVEL("level", "salary", EmployeeDTO::getLevel),
+  VERSION("version", "version", EmployeeDTO::getVersion);
+
+  /**
+   * The name of the field in the JSON representation.
+   */
+  private final String name;
+
+  private final String attribute;
+
+  private final Function<EmployeeDTO, Object> getter;
+
+  EmployeeField(String name, String attribute, Function<EmployeeDTO, Object> getter) {
+    this.name = name;
+    this.attribute = attribute;
+    this.getter = getter;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getAttribute() {
+    return attribute;
+  }
+
+  public Object get(EmployeeDTO employeeDTO) {
+    return getter.apply(employeeDTO);
+  }
+
+  /**
+   * The field of a JSON name.
+   *
+   * @param name the name of the field in the JSON representation.
+   * @return the field, empty if unknown.
+   */
+  public static Optional<EmployeeField> ofName(String name) {
+    for (EmployeeField field : values()) {
+      if (field.name.equals(name)) {
+        return Optional.of(field);
+      }
+    }
+    return Optional.empty();
+  }
+}
@@ -0,0 +1,32 @@
+package com.bfi.ariedemo.dto;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * The requested fields of an employee, serialized as an object of these fields only.
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeFieldsDTO implements Serializable {
+
+  /**
+   * The id of the employee, whether requested or not.
+   */
+  private final String id;
+
+  /**
+   * The version of the employee, whether requested or not.
+   */
+  private final long version;
+
+  /**
+   * The values of the requested fields by JSON name, in the order of {@link EmployeeField}.
+   */
+  @JsonValue
+  private final Map<String, Object> fields;
+}
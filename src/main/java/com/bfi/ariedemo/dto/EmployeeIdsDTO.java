@@ -0,0 +1,15 @@
+package com.bfi.ariedemo.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Ids of the employees to get.
+ */
+@Data
+public class EmployeeIdsDTO implements Serializable {
+
+  private List<String> ids;
+}
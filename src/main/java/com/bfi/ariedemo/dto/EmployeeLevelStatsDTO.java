@@ -0,0 +1,31 @@
+package com.bfi.ariedemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * Salary statistics of the employees of one level and status.
+ */
+@Data
+@AllArgsConstructor
+public class EmployeeLevelStatsDTO implements Serializable {
+
+  /**
+   * Label of the level, {@code null} for the employees without salary.
+   */
+  private String level;
+
+  private boolean status;
+
+  private long count;
+
+  private Double minSalary;
+
+  private Double maxSalary;
+
+  private Double avgSalary;
+
+  private Double sumSalary;
+}
@@ -0,0 +1,25 @@
+package com.bfi.ariedemo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * Outcome of the lookup of one id of a multi-get.
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeLookupDTO implements Serializable {
+
+  private String id;
+
+  private boolean found;
+
+  /**
+   * The employee, {@code null} if not found.
+   */
+  private EmployeeDTO employee;
+}
@@ -0,0 +1,20 @@
+package com.bfi.ariedemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * The salary of an employee, as held by the salary index.
+ */
+@Data
+@AllArgsConstructor
+public class EmployeeSalaryDTO implements Serializable {
+
+  private String id;
+
+  private Double salary;
+
+  private boolean status;
+}
@@ -0,0 +1,24 @@
+package com.bfi.ariedemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * An employee found by the type-ahead search, with only the searched attributes.
+ */
+@Data
+@AllArgsConstructor
+public class EmployeeSearchHitDTO implements Serializable {
+
+  private String id;
+
+  private String firstName;
+
+  private String lastName;
+
+  private String email;
+
+  private boolean status;
+}
@@ -20,6 +20,8 @@ public class GeneralWrapper<T> {
 
   private T data;
 
+  private String nextCursor;
+
   public GeneralWrapper(T data) {
     this.data = data;
   }
@@ -34,6 +36,11 @@ public class GeneralWrapper<T> {
     return this;
   }
 
+  public GeneralWrapper<T> nextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+    return this;
+  }
+
   public GeneralWrapper<T> fail(HttpStatus httpStatus, String message) {
     this.status = httpStatus;
     this.message = message;
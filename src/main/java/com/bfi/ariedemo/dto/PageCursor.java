@@ -0,0 +1,57 @@
+package com.bfi.ariedemo.dto;
+
+import com.bfi.ariedemo.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for employee listings, holding the last seen sort key ({@code email}) and its {@code id} tiebreaker.
+ */
+@Getter
+@AllArgsConstructor
+public class PageCursor {
+
+  private static final char SEPARATOR = '\u0000';
+
+  private final String email;
+
+  private final String id;
+
+  /**
+   * Encode the cursor as an URL safe token.
+   *
+   * @return the token to hand out to clients.
+   */
+  public String encode() {
+    String raw = email == null ? id : id + SEPARATOR + email;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decode a token previously produced by {@link #encode()}.
+   *
+   * @param token the token, may be {@code null}.
+   * @return the cursor, or {@code null} if no token was given.
+   */
+  public static PageCursor decode(String token) {
+    if (token == null || token.isEmpty()) {
+      return null;
+    }
+    String raw;
+    try {
+      raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+    int separator = raw.indexOf(SEPARATOR);
+    if (separator == 0 || raw.isEmpty()) {
+      throw new BadRequestException("Invalid cursor");
+    }
+    return separator < 0
+      ? new PageCursor(null, raw)
+      : new PageCursor(raw.substring(separator + 1), raw.substring(0, separator));
+  }
+}
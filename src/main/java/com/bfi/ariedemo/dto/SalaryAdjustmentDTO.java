@@ -0,0 +1,32 @@
+package com.bfi.ariedemo.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * Salary adjustment of the active employees of a salary range, either by percentage or by a fixed amount.
+ */
+@Data
+public class SalaryAdjustmentDTO implements Serializable {
+
+  /**
+   * Percentage to apply, {@code 10} raises the salaries by 10%, {@code -5} lowers them by 5%.
+   */
+  private Double percentage;
+
+  /**
+   * Fixed amount added to the salaries, may be negative.
+   */
+  private Double amount;
+
+  /**
+   * Inclusive lower bound of the salary range.
+   */
+  private Double minSalary;
+
+  /**
+   * Exclusive upper bound of the salary range.
+   */
+  private Double maxSalary;
+}
@@ -0,0 +1,31 @@
+package com.bfi.ariedemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * Number of employees in a salary range, a level or a histogram bucket.
+ */
+@Data
+@AllArgsConstructor
+public class SalaryBucketDTO implements Serializable {
+
+  /**
+   * Label of the level, {@code null} for a histogram bucket or for the employees without salary.
+   */
+  private String level;
+
+  /**
+   * Inclusive lower bound of the salaries, {@code null} for no lower bound.
+   */
+  private Double minSalary;
+
+  /**
+   * Exclusive upper bound of the salaries, inclusive for the last histogram bucket, {@code null} for no upper bound.
+   */
+  private Double maxSalary;
+
+  private long count;
+}
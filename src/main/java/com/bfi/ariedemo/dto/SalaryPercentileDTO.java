@@ -0,0 +1,21 @@
+package com.bfi.ariedemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * A percentile of the salaries, by the nearest-rank method.
+ */
+@Data
+@AllArgsConstructor
+public class SalaryPercentileDTO implements Serializable {
+
+  private double percentile;
+
+  /**
+   * The lowest salary not exceeded by {@code percentile} percent of the employees, {@code null} without salaries.
+   */
+  private Double salary;
+}
@@ -0,0 +1,25 @@
+package com.bfi.ariedemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The employees of a salary range, ordered by salary.
+ */
+@Data
+@AllArgsConstructor
+public class SalaryRangeDTO implements Serializable {
+
+  /**
+   * Number of employees in the range.
+   */
+  private long count;
+
+  /**
+   * The first employees of the range, up to the requested limit.
+   */
+  private List<EmployeeSalaryDTO> employees;
+}
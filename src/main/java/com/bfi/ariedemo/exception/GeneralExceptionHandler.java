@@ -3,7 +3,10 @@ package com.bfi.ariedemo.exception;
 
 import com.bfi.ariedemo.dto.GeneralWrapper;
 import lombok.RequiredArgsConstructor;
+import org.apache.catalina.connector.ClientAbortException;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -22,6 +25,10 @@ public class GeneralExceptionHandler extends ResponseEntityExceptionHandler {
 
   private static final String UNEXPECTED_ERROR = "Unexpected error";
 
+  private static final String OVERLOADED = "Too many requests in progress, retry later";
+
+  private static final String CONCURRENT_UPDATE = "Updated concurrently, read it again and retry";
+
   /**
    * Handle general error message.
    *
@@ -61,6 +68,56 @@ public class GeneralExceptionHandler extends ResponseEntityExceptionHandler {
       .body(new GeneralWrapper<>().fail(HttpStatus.BAD_REQUEST, ex.getLocalizedMessage()));
   }
 
+  /**
+   * Handle the requests rejected by a saturated executor, without logging a stack trace per rejected request.
+   *
+   * @param ex exception to be handled
+   * @return response entity with error message
+   */
+  @ExceptionHandler(TaskRejectedException.class)
+  public ResponseEntity<GeneralWrapper<Object>> overloaded(TaskRejectedException ex) {
+    logger.warn(ex.getMessage());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+      .header(HttpHeaders.RETRY_AFTER, "1")
+      .body(new GeneralWrapper<>().fail(HttpStatus.SERVICE_UNAVAILABLE, OVERLOADED));
+  }
+
+  /**
+   * Handle the updates whose {@code If-Match} version is not the current one.
+   *
+   * @param ex exception to be handled
+   * @return response entity with error message
+   */
+  @ExceptionHandler(PreconditionFailedException.class)
+  public ResponseEntity<GeneralWrapper<Object>> preconditionFailed(PreconditionFailedException ex) {
+    logger.warn(ex.getMessage());
+    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+      .body(new GeneralWrapper<>().fail(HttpStatus.PRECONDITION_FAILED, ex.getMessage()));
+  }
+
+  /**
+   * Handle the updates that lost the race against a concurrent update of the same employee.
+   *
+   * @param ex exception to be handled
+   * @return response entity with error message
+   */
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<GeneralWrapper<Object>> conflict(OptimisticLockingFailureException ex) {
+    logger.warn(ex.getMessage());
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+      .body(new GeneralWrapper<>().fail(HttpStatus.CONFLICT, CONCURRENT_UPDATE));
+  }
+
+  /**
+   * Handle the clients gone away while being written to, such as the subscribers of the change feed. There is no one
+   * left to answer.
+   *
+   * @param ex exception to be handled
+   */
+  @ExceptionHandler(ClientAbortException.class)
+  public void clientAbort(ClientAbortException ex) {
+    logger.debug("Client went away: " + ex.getMessage());
+  }
 
   @ExceptionHandler(DataIntegrityViolationException.class)
   public ResponseEntity<GeneralWrapper<Object>> duplicate(DataIntegrityViolationException ex) {
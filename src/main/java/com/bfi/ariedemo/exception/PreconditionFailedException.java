@@ -0,0 +1,14 @@
+package com.bfi.ariedemo.exception;
+
+/**
+ * Thrown when the {@code If-Match} precondition of a request does not hold, answered with
+ * {@code 412 (Precondition Failed)}.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  public PreconditionFailedException(String message) {
+    super(message);
+  }
+}
@@ -2,11 +2,14 @@ package com.bfi.ariedemo.mapper;
 
 
 import com.bfi.ariedemo.domain.Employee;
+import com.bfi.ariedemo.domain.EmployeeLevel;
 import com.bfi.ariedemo.dto.EmployeeDTO;
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 import org.mapstruct.Named;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
 /**
  * Mapper for the entity {@link Employee} and its DTO {@link EmployeeDTO}.
@@ -16,21 +19,28 @@ import org.mapstruct.Named;
 public interface EmployeeMapper extends EntityMapper<EmployeeDTO, Employee> {
 
   @Mapping(target = "status", constant = "true")
+  @Mapping(target = "version", ignore = true)
   Employee toEntity(EmployeeDTO s);
 
   @Mapping(source = "salary", target = "level", qualifiedByName = "leveling")
   EmployeeDTO toDto(Employee s);
 
+  /**
+   * Replace every attribute of a managed employee, with the same result as {@link #toEntity(EmployeeDTO)}.
+   */
+  @Mapping(target = "id", ignore = true)
+  @Mapping(target = "status", constant = "true")
+  @Mapping(target = "version", ignore = true)
+  void update(@MappingTarget Employee entity, EmployeeDTO dto);
+
+  @Override
+  @Named("partialUpdate")
+  @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+  @Mapping(target = "version", ignore = true)
+  void partialUpdate(@MappingTarget Employee entity, EmployeeDTO dto);
+
   @Named("leveling")
   default String getLevelingName(Double salary) {
-    if (salary < 5000) {
-      return "Bronze";
-    } else if (salary < 10000) {
-      return "Silver";
-    } else if (salary < 15000) {
-      return "Gold";
-    } else {
-      return "Platinum";
-    }
+    return EmployeeLevel.labelOf(salary);
   }
 }
@@ -1,12 +1,180 @@
 package com.bfi.ariedemo.repository;
 
 import com.bfi.ariedemo.domain.Employee;
+import com.bfi.ariedemo.dto.EmployeeSalaryDTO;
+import com.bfi.ariedemo.dto.EmployeeSearchHitDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 /**
  * Spring Data JPA repository for the Employee entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, String> {}
+public interface EmployeeRepository
+  extends JpaRepository<Employee, String>, JpaSpecificationExecutor<Employee>, EmployeeRepositoryCustom {
+
+  /**
+   * Fetch size of the JDBC cursors used by the {@code stream} queries.
+   */
+  String STREAM_FETCH_SIZE = "500";
+
+  /**
+   * First page of the keyset listing, ordered by {@code email} then {@code id}.
+   *
+   * @param status   the status of employee.
+   * @param pageable the page size, the sort of the pageable is ignored.
+   * @return the list of entities.
+   */
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+  @Query("select e from Employee e where e.status = :status order by e.email asc, e.id asc")
+  List<Employee> findPage(@Param("status") boolean status, Pageable pageable);
+
+  /**
+   * Next page of the keyset listing, starting right after the given sort key.
+   *
+   * @param status   the status of employee.
+   * @param email    the email of the last seen employee.
+   * @param id       the id of the last seen employee.
+   * @param pageable the page size, the sort of the pageable is ignored.
+   * @return the list of entities.
+   */
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+  @Query("select e from Employee e where e.status = :status"
+    + " and (e.email > :email or (e.email = :email and e.id > :id))"
+    + " order by e.email asc, e.id asc")
+  List<Employee> findPageAfter(
+    @Param("status") boolean status, @Param("email") String email, @Param("id") String id, Pageable pageable
+  );
+
+  /**
+   * Next page of the keyset listing when the last seen employee has no email, nulls being sorted first.
+   *
+   * @param status   the status of employee.
+   * @param id       the id of the last seen employee.
+   * @param pageable the page size, the sort of the pageable is ignored.
+   * @return the list of entities.
+   */
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+  @Query("select e from Employee e where e.status = :status"
+    + " and ((e.email is null and e.id > :id) or e.email is not null)"
+    + " order by e.email asc, e.id asc")
+  List<Employee> findPageAfterNullEmail(@Param("status") boolean status, @Param("id") String id, Pageable pageable);
+
+  /**
+   * Read the version of an employee without loading the row into an entity.
+   *
+   * @param id the id of the employee.
+   * @return the version, or empty if the employee does not exist.
+   */
+  @Query("select e.version from Employee e where e.id = :id")
+  Optional<Long> findVersionById(@Param("id") String id);
+
+  /**
+   * Stream all the employees through a JDBC cursor, must be consumed inside a transaction and closed.
+   *
+   * @return the stream of read-only entities.
+   */
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+    @QueryHint(name = HINT_CACHEABLE, value = "false"),
+    @QueryHint(name = HINT_READONLY, value = "true")
+  })
+  @Query("select e from Employee e")
+  Stream<Employee> streamAll();
+
+  /**
+   * Stream the searched attributes of all the employees through a JDBC cursor, without loading any entity.
+   * Must be consumed inside a transaction and closed.
+   *
+   * @return the stream of search hits.
+   */
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+    @QueryHint(name = HINT_CACHEABLE, value = "false")
+  })
+  @Query("select new com.bfi.ariedemo.dto.EmployeeSearchHitDTO(e.id, e.firstName, e.lastName, e.email, e.status)"
+    + " from Employee e")
+  Stream<EmployeeSearchHitDTO> streamSearchHits();
+
+  /**
+   * Stream the salary and status of all the employees through a JDBC cursor, without loading any entity.
+   * Must be consumed inside a transaction and closed.
+   *
+   * @return the stream of salaries.
+   */
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+    @QueryHint(name = HINT_CACHEABLE, value = "false")
+  })
+  @Query("select new com.bfi.ariedemo.dto.EmployeeSalaryDTO(e.id, e.salary, e.status) from Employee e")
+  Stream<EmployeeSalaryDTO> streamSalaries();
+
+  /**
+   * Soft delete the active employees with the given ids in a single statement.
+   *
+   * @param ids the ids of the employees.
+   * @return the number of deactivated employees.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update Employee e set e.status = false, e.version = e.version + 1 where e.status = true and e.id in :ids")
+  int deactivateByIds(@Param("ids") Collection<String> ids);
+
+  /**
+   * Soft delete the active employees of a salary range in a single statement.
+   *
+   * @param minSalary the inclusive lower bound of the salary range.
+   * @param maxSalary the exclusive upper bound of the salary range.
+   * @return the number of deactivated employees.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update Employee e set e.status = false, e.version = e.version + 1"
+    + " where e.status = true and e.salary >= :minSalary and e.salary < :maxSalary")
+  int deactivateBySalaryRange(@Param("minSalary") double minSalary, @Param("maxSalary") double maxSalary);
+
+  /**
+   * Multiply the salary of the active employees of a salary range in a single statement.
+   *
+   * @param factor    the factor to apply.
+   * @param minSalary the inclusive lower bound of the salary range.
+   * @param maxSalary the exclusive upper bound of the salary range.
+   * @return the number of updated employees.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update Employee e set e.salary = e.salary * :factor, e.version = e.version + 1"
+    + " where e.status = true and e.salary >= :minSalary and e.salary < :maxSalary")
+  int multiplySalaries(
+    @Param("factor") double factor, @Param("minSalary") double minSalary, @Param("maxSalary") double maxSalary
+  );
+
+  /**
+   * Add a fixed amount to the salary of the active employees of a salary range in a single statement.
+   *
+   * @param amount    the amount to add.
+   * @param minSalary the inclusive lower bound of the salary range.
+   * @param maxSalary the exclusive upper bound of the salary range.
+   * @return the number of updated employees.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update Employee e set e.salary = e.salary + :amount, e.version = e.version + 1"
+    + " where e.status = true and e.salary >= :minSalary and e.salary < :maxSalary")
+  int addToSalaries(
+    @Param("amount") double amount, @Param("minSalary") double minSalary, @Param("maxSalary") double maxSalary
+  );
+}
@@ -0,0 +1,50 @@
+package com.bfi.ariedemo.repository;
+
+import com.bfi.ariedemo.domain.EmployeeLevel;
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.dto.EmployeeLevelStatsDTO;
+import com.bfi.ariedemo.dto.PageCursor;
+
+import javax.persistence.Tuple;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Queries of the Employee repository that are not derived by Spring Data.
+ */
+public interface EmployeeRepositoryCustom {
+
+  /**
+   * Aggregate the salaries per level and status in the database.
+   *
+   * @param status the status of employee, {@code null} for both.
+   * @return one row per level and status having employees.
+   */
+  List<EmployeeLevelStatsDTO> aggregateByLevel(Boolean status);
+
+  /**
+   * Select only the given attributes of the employees, as tuples aliased by attribute name. No entity is hydrated nor
+   * enters the persistence context.
+   *
+   * @param attributes the attributes of {@link com.bfi.ariedemo.domain.Employee} to select.
+   * @param status     the status of employee.
+   * @param after      the last seen sort key of the keyset listing, {@code null} for its first page.
+   * @param limit      the maximum number of employees of a page ordered by {@code email} then {@code id},
+   *                   {@code null} for all the employees in no particular order.
+   * @return the selected attributes of the employees.
+   */
+  List<Tuple> findAttributes(Collection<String> attributes, boolean status, PageCursor after, Integer limit);
+
+  /**
+   * Hand the employees with the given status one by one to the consumer, their columns scrolled through a
+   * {@link org.hibernate.StatelessSession} on the connection of the current transaction and read straight into DTOs.
+   * No entity is instantiated: nothing enters a persistence context nor the second level cache, and each row can be
+   * collected once consumed. The changes of the current session not flushed yet are not seen.
+   *
+   * @param status   the status of employee.
+   * @param consumer the consumer of every employee, its level derived from the salary by {@link EmployeeLevel}.
+   * @return the number of employees consumed.
+   */
+  long scrollByStatus(boolean status, Consumer<EmployeeDTO> consumer);
+}
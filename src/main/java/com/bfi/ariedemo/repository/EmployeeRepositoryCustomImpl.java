@@ -0,0 +1,137 @@
+package com.bfi.ariedemo.repository;
+
+import com.bfi.ariedemo.domain.Employee;
+import com.bfi.ariedemo.domain.EmployeeLevel;
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.dto.EmployeeLevelStatsDTO;
+import com.bfi.ariedemo.dto.PageCursor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of {@link EmployeeRepositoryCustom}.
+ */
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+  private static final String LEVEL_AGGREGATION = "select level_label, status, count(*), min(salary), max(salary),"
+    + " avg(salary), sum(salary)"
+    + " from (select " + EmployeeLevel.sqlCaseExpression("salary") + " as level_label, status, salary"
+    + " from employee%s) employee_level"
+    + " group by level_label, status"
+    + " order by min(salary), status";
+
+  private static final String SCROLL_BY_STATUS = "select e.id, e.firstName, e.lastName, e.email, e.phoneNumber,"
+    + " e.salary, e.status, e.version from Employee e where e.status = :status";
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<EmployeeLevelStatsDTO> aggregateByLevel(Boolean status) {
+    Query query = entityManager.createNativeQuery(String.format(LEVEL_AGGREGATION, status == null ? "" : " where status = :status"));
+    if (status != null) {
+      query.setParameter("status", status);
+    }
+    List<Object[]> rows = query.getResultList();
+    List<EmployeeLevelStatsDTO> result = new ArrayList<>(rows.size());
+    for (Object[] row : rows) {
+      result.add(new EmployeeLevelStatsDTO(
+        (String) row[0],
+        (Boolean) row[1],
+        ((Number) row[2]).longValue(),
+        toDouble(row[3]),
+        toDouble(row[4]),
+        toDouble(row[5]),
+        toDouble(row[6])
+      ));
+    }
+    return result;
+  }
+
+  @Override
+  public List<Tuple> findAttributes(Collection<String> attributes, boolean status, PageCursor after, Integer limit) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> criteria = cb.createTupleQuery();
+    Root<Employee> employee = criteria.from(Employee.class);
+    List<Selection<?>> selections = new ArrayList<>(attributes.size());
+    for (String attribute : attributes) {
+      selections.add(employee.get(attribute).alias(attribute));
+    }
+    criteria.multiselect(selections);
+    Predicate where = cb.equal(employee.get("status"), status);
+    if (limit != null) {
+      Path<String> email = employee.get("email");
+      Path<String> id = employee.get("id");
+      // the same keyset as the entity listing, nulls being sorted first
+      if (after != null && after.getEmail() == null) {
+        where = cb.and(where, cb.or(cb.and(cb.isNull(email), cb.greaterThan(id, after.getId())), cb.isNotNull(email)));
+      } else if (after != null) {
+        where = cb.and(where, cb.or(
+          cb.greaterThan(email, after.getEmail()),
+          cb.and(cb.equal(email, after.getEmail()), cb.greaterThan(id, after.getId()))
+        ));
+      }
+      criteria.orderBy(cb.asc(email), cb.asc(id));
+    }
+    criteria.where(where);
+    TypedQuery<Tuple> query = entityManager.createQuery(criteria);
+    if (limit != null) {
+      query.setMaxResults(limit);
+    }
+    return query.getResultList();
+  }
+
+  @Override
+  public long scrollByStatus(boolean status, Consumer<EmployeeDTO> consumer) {
+    Session session = entityManager.unwrap(Session.class);
+    return session.doReturningWork(connection -> {
+      // the connection stays open when the stateless session is closed, it belongs to the transaction
+      try (StatelessSession statelessSession = session.getSessionFactory().openStatelessSession(connection);
+           ScrollableResults rows = statelessSession.createQuery(SCROLL_BY_STATUS, Object[].class)
+             .setParameter("status", status)
+             .setFetchSize(Integer.parseInt(EmployeeRepository.STREAM_FETCH_SIZE))
+             .scroll(ScrollMode.FORWARD_ONLY)) {
+        long count = 0;
+        while (rows.next()) {
+          Double salary = (Double) rows.get(5);
+          consumer.accept(EmployeeDTO.builder()
+            .id((String) rows.get(0))
+            .firstName((String) rows.get(1))
+            .lastName((String) rows.get(2))
+            .email((String) rows.get(3))
+            .phoneNumber((String) rows.get(4))
+            .salary(salary)
+            .status((Boolean) rows.get(6))
+            .level(EmployeeLevel.labelOf(salary))
+            .version((Long) rows.get(7))
+            .build());
+          count++;
+        }
+        return count;
+      }
+    });
+  }
+
+  private static Double toDouble(Object value) {
+    return value == null ? null : ((Number) value).doubleValue();
+  }
+}
@@ -0,0 +1,72 @@
+package com.bfi.ariedemo.repository;
+
+import com.bfi.ariedemo.domain.Employee;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive read-only repository of the {@link Employee} table, over R2DBC.
+ * <p>
+ * The rows are mapped to detached {@link Employee} instances, so that the DTOs are built by the same mapper as the
+ * JPA stack. The embedded H2 driver runs the statements on the subscribing thread, the queries are subscribed on the
+ * bounded elastic scheduler so that neither the servlet threads nor the threads releasing pooled connections run
+ * them.
+ */
+@Repository
+public class ReactiveEmployeeRepository {
+
+  private static final String SELECT_EMPLOYEE =
+    "select id, first_name, last_name, email, phone_number, salary, status, version from employee";
+
+  private final DatabaseClient databaseClient;
+
+  public ReactiveEmployeeRepository(DatabaseClient databaseClient) {
+    this.databaseClient = databaseClient;
+  }
+
+  /**
+   * Stream the employees of a status, rows are fetched as the subscriber requests them.
+   *
+   * @param status the status of the employees.
+   * @return the employees.
+   */
+  public Flux<Employee> findAllByStatus(boolean status) {
+    return databaseClient.sql(SELECT_EMPLOYEE + " where status = :status")
+      .bind("status", status)
+      .map(ReactiveEmployeeRepository::toEmployee)
+      .all()
+      .subscribeOn(Schedulers.boundedElastic());
+  }
+
+  /**
+   * Read an employee.
+   *
+   * @param id the id of the employee.
+   * @return the employee, or empty if it does not exist.
+   */
+  public Mono<Employee> findById(String id) {
+    return databaseClient.sql(SELECT_EMPLOYEE + " where id = :id")
+      .bind("id", id)
+      .map(ReactiveEmployeeRepository::toEmployee)
+      .one()
+      .subscribeOn(Schedulers.boundedElastic());
+  }
+
+  private static Employee toEmployee(Row row, RowMetadata metadata) {
+    return Employee.builder()
+      .id(row.get("id", String.class))
+      .firstName(row.get("first_name", String.class))
+      .lastName(row.get("last_name", String.class))
+      .email(row.get("email", String.class))
+      .phoneNumber(row.get("phone_number", String.class))
+      .salary(row.get("salary", Double.class))
+      .status(Boolean.TRUE.equals(row.get("status", Boolean.class)))
+      .version(row.get("version", Long.class))
+      .build();
+  }
+}
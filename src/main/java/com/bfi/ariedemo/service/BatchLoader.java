@@ -0,0 +1,165 @@
+package com.bfi.ariedemo.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Gathers the concurrent loads of single keys into batches, each loaded by one call.
+ * <p>
+ * The first caller of a batch waits for the batch window, or for the batch to be full, then loads every key gathered
+ * meanwhile and hands the results out to their callers. No thread is added: the calls run on the callers' threads,
+ * at the price of the window added to the latency of the first caller of every batch. A key only joins a batch not
+ * loaded yet, so its result is never older than the call to {@link #load(Object)}.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+public class BatchLoader<K, V> {
+
+  private final Function<Set<K>, Map<K, V>> loader;
+
+  private final long windowNanos;
+
+  private final int maxBatchSize;
+
+  private final Runnable onJoined;
+
+  private final LongAdder batches = new LongAdder();
+
+  private final LongAdder keys = new LongAdder();
+
+  /**
+   * The batch gathering keys, guarded by this.
+   */
+  private Batch<K, V> pending;
+
+  /**
+   * @param loader       the loader of a batch of keys, returning the values found.
+   * @param windowNanos  the time a batch gathers keys.
+   * @param maxBatchSize the number of keys loading a batch without waiting for the rest of its window.
+   */
+  public BatchLoader(Function<Set<K>, Map<K, V>> loader, long windowNanos, int maxBatchSize) {
+    this(loader, windowNanos, maxBatchSize, () -> {
+    });
+  }
+
+  /**
+   * @param loader       the loader of a batch of keys, returning the values found.
+   * @param windowNanos  the time a batch gathers keys.
+   * @param maxBatchSize the number of keys loading a batch without waiting for the rest of its window.
+   * @param onJoined     run by every caller joining a batch loaded by another caller, on its own thread.
+   */
+  public BatchLoader(Function<Set<K>, Map<K, V>> loader, long windowNanos, int maxBatchSize, Runnable onJoined) {
+    this.loader = loader;
+    this.windowNanos = windowNanos;
+    this.maxBatchSize = maxBatchSize;
+    this.onJoined = onJoined;
+  }
+
+  /**
+   * Load the value of a key in a batch with the concurrent loads.
+   *
+   * @param key the key.
+   * @return the value, {@code null} if not found.
+   */
+  public V load(K key) {
+    Batch<K, V> batch;
+    CompletableFuture<V> result;
+    boolean first;
+    synchronized (this) {
+      first = pending == null;
+      if (first) {
+        pending = new Batch<>();
+      }
+      batch = pending;
+      result = batch.add(key);
+      if (batch.results.size() >= maxBatchSize) {
+        pending = null;
+        batch.full.countDown();
+      }
+    }
+    if (first) {
+      batch.awaitFull(windowNanos);
+      synchronized (this) {
+        if (pending == batch) {
+          pending = null;
+        }
+      }
+      dispatch(batch);
+    } else {
+      onJoined.run();
+    }
+    return await(result);
+  }
+
+  /**
+   * @return the number of batches loaded.
+   */
+  public long batches() {
+    return batches.sum();
+  }
+
+  /**
+   * @return the number of keys loaded.
+   */
+  public long keys() {
+    return keys.sum();
+  }
+
+  private void dispatch(Batch<K, V> batch) {
+    batches.increment();
+    keys.add(batch.results.size());
+    try {
+      Map<K, V> loaded = loader.apply(batch.results.keySet());
+      batch.results.forEach((key, result) -> result.complete(loaded.get(key)));
+    } catch (Throwable e) {
+      // every caller of the batch gets the exception, including the first one
+      batch.results.values().forEach(result -> result.completeExceptionally(e));
+    }
+  }
+
+  private V await(CompletableFuture<V> result) {
+    try {
+      return result.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * The keys of a batch, added under the lock of the loader and read once the batch is closed.
+   */
+  private static final class Batch<K, V> {
+
+    private final Map<K, CompletableFuture<V>> results = new LinkedHashMap<>();
+
+    private final CountDownLatch full = new CountDownLatch(1);
+
+    private CompletableFuture<V> add(K key) {
+      return results.computeIfAbsent(key, k -> new CompletableFuture<>());
+    }
+
+    private void awaitFull(long windowNanos) {
+      try {
+        full.await(windowNanos, TimeUnit.NANOSECONDS);
+      } catch (InterruptedException e) {
+        // load the batch right away
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
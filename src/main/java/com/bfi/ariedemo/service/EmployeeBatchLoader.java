@@ -0,0 +1,132 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.config.ApplicationProperties;
+import com.bfi.ariedemo.domain.Employee;
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.exception.BadRequestException;
+import com.bfi.ariedemo.mapper.EmployeeMapper;
+import com.bfi.ariedemo.repository.EmployeeRepository;
+import com.bfi.ariedemo.timing.EmployeeOperationEventAspect;
+import com.bfi.ariedemo.timing.LookupOutcome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads employees by id in batches.
+ * <p>
+ * The employees held by the second level cache are read from it, the others with one {@code IN} query per chunk of
+ * ids. The concurrent loads of single employees are gathered by a {@link BatchLoader} for
+ * {@code application.lookup.batch-window}, a zero window loading each one on its own.
+ */
+@Component
+public class EmployeeBatchLoader {
+
+  private final Logger log = LoggerFactory.getLogger(EmployeeBatchLoader.class);
+
+  private final EmployeeRepository employeeRepository;
+
+  private final EmployeeMapper employeeMapper;
+
+  private final Cache secondLevelCache;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final BatchLoader<String, EmployeeDTO> batchLoader;
+
+  public EmployeeBatchLoader(
+    EmployeeRepository employeeRepository,
+    EmployeeMapper employeeMapper,
+    EntityManagerFactory entityManagerFactory,
+    PlatformTransactionManager transactionManager,
+    ApplicationProperties applicationProperties
+  ) {
+    this.employeeRepository = employeeRepository;
+    this.employeeMapper = employeeMapper;
+    this.secondLevelCache = entityManagerFactory.getCache();
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    ApplicationProperties.Lookup properties = applicationProperties.getLookup();
+    this.batchLoader = properties.getBatchWindow().isZero() ? null : new BatchLoader<>(
+      this::loadAll, properties.getBatchWindow().toNanos(), properties.getMaxBatchSize(),
+      () -> EmployeeOperationEventAspect.lookedUp(LookupOutcome.BATCHED)
+    );
+  }
+
+  /**
+   * Load one employee, in a batch with the concurrent loads unless held by the second level cache, or called in a
+   * transaction: the batch would be loaded in the transaction of its first caller.
+   *
+   * @param id the id of the employee.
+   * @return the employee.
+   * @throws BadRequestException if the employee does not exist.
+   */
+  public EmployeeDTO load(String id) {
+    EmployeeDTO employeeDTO;
+    if (batchLoader == null
+      || TransactionSynchronizationManager.isActualTransactionActive()
+      || secondLevelCache.contains(Employee.class, id)) {
+      employeeDTO = employeeRepository.findById(id).map(employeeMapper::toDto).orElse(null);
+    } else {
+      employeeDTO = batchLoader.load(id);
+    }
+    if (employeeDTO == null) {
+      throw new BadRequestException("Not Found");
+    }
+    return employeeDTO;
+  }
+
+  /**
+   * Load the employees in one read-only transaction.
+   *
+   * @param ids the ids of the employees.
+   * @return the employees found, by id.
+   */
+  public Map<String, EmployeeDTO> loadAll(Collection<String> ids) {
+    log.debug("Load {} Employees by id", ids.size());
+    return transactionTemplate.execute(status -> {
+      Map<String, EmployeeDTO> loaded = new HashMap<>();
+      List<String> chunk = new ArrayList<>(Math.min(ids.size(), EmployeeService.IN_LIST_CHUNK_SIZE));
+      for (String id : ids) {
+        if (secondLevelCache.contains(Employee.class, id)) {
+          employeeRepository.findById(id).ifPresent(employee -> loaded.put(id, employeeMapper.toDto(employee)));
+          continue;
+        }
+        chunk.add(id);
+        if (chunk.size() == EmployeeService.IN_LIST_CHUNK_SIZE) {
+          loadChunk(chunk, loaded);
+          chunk.clear();
+        }
+      }
+      if (!chunk.isEmpty()) {
+        loadChunk(chunk, loaded);
+      }
+      return loaded;
+    });
+  }
+
+  public long batches() {
+    return batchLoader == null ? 0 : batchLoader.batches();
+  }
+
+  public long batchedKeys() {
+    return batchLoader == null ? 0 : batchLoader.keys();
+  }
+
+  private void loadChunk(List<String> ids, Map<String, EmployeeDTO> loaded) {
+    for (Employee employee : employeeRepository.findAllById(ids)) {
+      loaded.put(employee.getId(), employeeMapper.toDto(employee));
+    }
+  }
+}
@@ -0,0 +1,288 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.config.ApplicationProperties;
+import com.bfi.ariedemo.config.AsyncConfiguration;
+import com.bfi.ariedemo.dto.EmployeeChangeDTO;
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-Sent Events feed of the committed employee changes.
+ * <p>
+ * Every change gets the next sequence number and is kept in a ring buffer of the latest changes. The event ids are
+ * {@code <epoch>-<sequence>}, the epoch telling the runs of the application apart, so that a subscriber resuming with
+ * {@code Last-Event-ID} is sent the changes it missed, or a {@code reset} event when they are no longer known and the
+ * employees must be read again.
+ * <p>
+ * The changes are queued per subscriber and sent by the {@link AsyncConfiguration#CHANGE_FEED_TASK_EXECUTOR}, the
+ * committing threads never wait for a client. A subscriber whose queue is full is disconnected rather than sent a
+ * feed with holes, it resumes from the last change it received when it reconnects. The idle subscribers are sent a
+ * heartbeat comment, as a client gone away is only noticed when writing to it.
+ */
+@Component
+public class EmployeeChangeFeed {
+
+  public static final String CHANGE_EVENT = "change";
+
+  public static final String RESET_EVENT = "reset";
+
+  public static final String RESET_TYPE = "RESET";
+
+  private static final Event HEARTBEAT = new Event(null, null);
+
+  private final Logger log = LoggerFactory.getLogger(EmployeeChangeFeed.class);
+
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+  private final EmployeeChangeDTO[] history;
+
+  private final int bufferSize;
+
+  private final int maxSubscribers;
+
+  private final long timeoutMillis;
+
+  private final TaskExecutor taskExecutor;
+
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+  /**
+   * The sequence of the latest change, guarded by the history.
+   */
+  private long sequence;
+
+  public EmployeeChangeFeed(
+    ApplicationProperties applicationProperties,
+    @Qualifier(AsyncConfiguration.CHANGE_FEED_TASK_EXECUTOR) TaskExecutor taskExecutor
+  ) {
+    ApplicationProperties.Changes properties = applicationProperties.getChanges();
+    this.history = new EmployeeChangeDTO[properties.getHistorySize()];
+    this.bufferSize = properties.getSubscriberBufferSize();
+    this.maxSubscribers = properties.getMaxSubscribers();
+    this.timeoutMillis = properties.getTimeout().toMillis();
+    this.taskExecutor = taskExecutor;
+  }
+
+  /**
+   * Subscribe to the changes committed from now on, or since a previous event.
+   *
+   * @param lastEventId the id of the last event received by a resuming subscriber, {@code null} for a new one.
+   * @return the emitter of the events.
+   * @throws TaskRejectedException if the feed has too many subscribers.
+   */
+  public SseEmitter subscribe(String lastEventId) {
+    return subscribe(new SseEmitter(timeoutMillis), lastEventId);
+  }
+
+  SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+    synchronized (history) {
+      // checked under the lock adding the subscribers, concurrent subscriptions cannot go over the limit
+      if (subscribers.size() >= maxSubscribers) {
+        throw new TaskRejectedException("Too many subscribers of the employee changes");
+      }
+      long since = resumedSequence(lastEventId);
+      // another run, or changes no longer in the history
+      boolean reset = since < 0 || since > sequence || sequence - since > history.length;
+      // the missed changes come on top of the buffer, or the subscriber could never catch up
+      Subscriber subscriber = new Subscriber(emitter, bufferSize + (reset ? 1 : (int) (sequence - since)));
+      emitter.onCompletion(() -> subscribers.remove(subscriber));
+      emitter.onTimeout(() -> subscribers.remove(subscriber));
+      emitter.onError(e -> subscribers.remove(subscriber));
+      if (reset) {
+        subscriber.offer(new Event(RESET_EVENT, new EmployeeChangeDTO(sequence, RESET_TYPE, null, null, null)));
+      } else {
+        for (long s = since + 1; s <= sequence; s++) {
+          subscriber.offer(new Event(CHANGE_EVENT, history[slot(s)]));
+        }
+      }
+      subscribers.add(subscriber);
+    }
+    log.debug("New subscriber of the employee changes, resuming from {}", lastEventId);
+    return emitter;
+  }
+
+  public int subscriberCount() {
+    return subscribers.size();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEmployeeChanged(EmployeeChangedEvent event) {
+    publish(event.getType().name(), event.getEmployee(), null, null);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEmployeesBulkChanged(EmployeesBulkChangedEvent event) {
+    if (event.getAffected() > 0) {
+      publish(event.getType().name(), null, event.getIds(), event.getAffected());
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${application.changes.heartbeat:PT15S}")
+  public void heartbeat() {
+    for (Subscriber subscriber : subscribers) {
+      subscriber.heartbeat();
+    }
+  }
+
+  private void publish(String type, EmployeeDTO employee, Set<String> ids, Integer affected) {
+    synchronized (history) {
+      EmployeeChangeDTO change = new EmployeeChangeDTO(++sequence, type, employee, ids, affected);
+      history[slot(change.getSequence())] = change;
+      for (Subscriber subscriber : subscribers) {
+        subscriber.offer(new Event(CHANGE_EVENT, change));
+      }
+    }
+  }
+
+  /**
+   * The sequence of a previous event of this run, {@code -1} for an event of another run and {@code sequence} for a
+   * new subscriber.
+   */
+  private long resumedSequence(String lastEventId) {
+    if (lastEventId == null || lastEventId.isEmpty()) {
+      return sequence;
+    }
+    String prefix = epoch + "-";
+    if (!lastEventId.startsWith(prefix)) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(lastEventId.substring(prefix.length()));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private int slot(long sequence) {
+    return (int) (sequence % history.length);
+  }
+
+  private static final class Event {
+
+    private final String name;
+
+    private final EmployeeChangeDTO change;
+
+    private Event(String name, EmployeeChangeDTO change) {
+      this.name = name;
+      this.change = change;
+    }
+  }
+
+  /**
+   * The queue of the events of a subscriber, drained by at most one sender task at a time.
+   */
+  private final class Subscriber {
+
+    private final SseEmitter emitter;
+
+    private final Queue<Event> events;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * No more events are sent, once the client went away or fell behind.
+     */
+    private volatile boolean closed;
+
+    /**
+     * The subscriber fell behind, its emitter is to be completed.
+     */
+    private volatile boolean overflowed;
+
+    /**
+     * Only accessed by the sender task.
+     */
+    private boolean completed;
+
+    private Subscriber(SseEmitter emitter, int capacity) {
+      this.emitter = emitter;
+      this.events = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Queue an event without blocking, the subscriber is disconnected if its queue is full.
+     */
+    private void offer(Event event) {
+      if (closed) {
+        return;
+      }
+      if (!events.offer(event)) {
+        log.warn("Disconnecting a subscriber of the employee changes {} events behind", bufferSize);
+        overflowed = true;
+        close();
+      }
+      schedule();
+    }
+
+    private void heartbeat() {
+      if (events.isEmpty()) {
+        offer(HEARTBEAT);
+      }
+    }
+
+    private void close() {
+      closed = true;
+      subscribers.remove(this);
+      events.clear();
+    }
+
+    private void schedule() {
+      if (scheduled.compareAndSet(false, true)) {
+        taskExecutor.execute(this::drain);
+      }
+    }
+
+    private void drain() {
+      try {
+        Event event;
+        while (!closed && (event = events.poll()) != null) {
+          send(event);
+        }
+        if (overflowed && !completed) {
+          completed = true;
+          emitter.complete();
+        }
+      } finally {
+        scheduled.set(false);
+      }
+      // an event or the overflow may have come after the loop, while this task was still scheduled
+      if (overflowed ? !completed : !closed && !events.isEmpty()) {
+        schedule();
+      }
+    }
+
+    private void send(Event event) {
+      try {
+        if (event == HEARTBEAT) {
+          emitter.send(SseEmitter.event().comment(""));
+        } else {
+          emitter.send(SseEmitter.event()
+            .id(epoch + "-" + event.change.getSequence())
+            .name(event.name)
+            .data(event.change, MediaType.APPLICATION_JSON));
+        }
+      } catch (IOException | IllegalStateException e) {
+        // the client went away, the container completes the emitter
+        log.debug("Could not send the employee changes: {}", e.getMessage());
+        close();
+      }
+    }
+  }
+}
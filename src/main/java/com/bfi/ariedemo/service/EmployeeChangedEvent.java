@@ -0,0 +1,31 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by {@link EmployeeService} for every employee it writes, listeners receive it once the transaction commits.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class EmployeeChangedEvent {
+
+  public enum Type {
+    CREATED,
+    UPDATED,
+    PATCHED,
+    DELETED
+  }
+
+  private final Type type;
+
+  private final String id;
+
+  /**
+   * State of the employee after the change.
+   */
+  private final EmployeeDTO employee;
+}
@@ -0,0 +1,213 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.config.ApplicationProperties;
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.timing.EmployeeOperationEventAspect;
+import com.bfi.ariedemo.timing.LookupOutcome;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of {@link EmployeeDTO} by id, evicted once a change of the employee is committed.
+ * <p>
+ * Entries are evicted by Caffeine's W-TinyLFU policy. A load racing with a committed write never leaves the
+ * stale value behind: every id maps to an invalidation stamp, bumped before the eviction, and a loaded value
+ * is dropped again if the stamp moved while it was loaded. The cached DTOs are shared and must not be modified.
+ * <p>
+ * The concurrent misses of an employee, and the concurrent lookups of its version, are collapsed by a
+ * {@link SingleFlight} into one load. An eviction forgets the loads in flight, so a read starting after a committed
+ * write never shares a load that started before it.
+ */
+@Component
+public class EmployeeDtoCache {
+
+  private static final int STAMP_STRIPES = 256;
+
+  private final Cache<String, EmployeeDTO> cache;
+
+  private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+  private final SingleFlight<String, EmployeeDTO> loads = new SingleFlight<>(EmployeeDtoCache::collapsed);
+
+  private final SingleFlight<String, Optional<Long>> versionLoads = new SingleFlight<>(EmployeeDtoCache::collapsed);
+
+  public EmployeeDtoCache(ApplicationProperties applicationProperties) {
+    ApplicationProperties.Cache.Region region = applicationProperties.getCache().getDto();
+    this.cache = Caffeine.newBuilder()
+      .maximumSize(region.getMaxEntries())
+      .expireAfterWrite(Duration.ofSeconds(region.getTimeToLiveSeconds()))
+      .recordStats()
+      .build();
+  }
+
+  /**
+   * Get the employee from the cache, or load and cache it.
+   *
+   * @param id     the id of the employee.
+   * @param loader the loader of a missing employee, called without any lock held, once for concurrent misses.
+   * @return the employee.
+   */
+  public EmployeeDTO get(String id, Function<String, EmployeeDTO> loader) {
+    EmployeeDTO cached = cache.getIfPresent(id);
+    if (cached != null) {
+      EmployeeOperationEventAspect.lookedUp(LookupOutcome.HIT);
+      return cached;
+    }
+    EmployeeOperationEventAspect.lookedUp(LookupOutcome.MISS);
+    return loads.execute(id, key -> load(key, loader));
+  }
+
+  /**
+   * Get the employees from the cache, and load and cache the missing ones together.
+   *
+   * @param ids    the ids of the employees.
+   * @param loader the loader of the missing employees, called without any lock held, returning the ones found.
+   * @return the employees found, by id.
+   */
+  public Map<String, EmployeeDTO> getAll(Collection<String> ids, Function<Set<String>, Map<String, EmployeeDTO>> loader) {
+    Map<String, EmployeeDTO> found = new HashMap<>();
+    Map<String, Long> missingStamps = new LinkedHashMap<>();
+    for (String id : ids) {
+      EmployeeDTO cached = cache.getIfPresent(id);
+      if (cached != null) {
+        EmployeeOperationEventAspect.lookedUp(LookupOutcome.HIT);
+        found.put(id, cached);
+      } else {
+        EmployeeOperationEventAspect.lookedUp(LookupOutcome.MISS);
+        missingStamps.putIfAbsent(id, stamps.get(stripe(id)));
+      }
+    }
+    if (!missingStamps.isEmpty()) {
+      loader.apply(missingStamps.keySet()).forEach((id, loaded) -> {
+        putIfNotEvicted(id, loaded, missingStamps.get(id));
+        found.put(id, loaded);
+      });
+    }
+    return found;
+  }
+
+  /**
+   * Get the version of the employee from the cache, or load it without caching it.
+   *
+   * @param id     the id of the employee.
+   * @param loader the loader of the version, called without any lock held, once for concurrent lookups.
+   * @return the version, or empty if the employee does not exist.
+   */
+  public Optional<Long> getVersion(String id, Function<String, Optional<Long>> loader) {
+    EmployeeDTO cached = cache.getIfPresent(id);
+    if (cached != null) {
+      EmployeeOperationEventAspect.lookedUp(LookupOutcome.HIT);
+      return Optional.of(cached.getVersion());
+    }
+    EmployeeOperationEventAspect.lookedUp(LookupOutcome.MISS);
+    return versionLoads.execute(id, loader);
+  }
+
+  private static void collapsed() {
+    EmployeeOperationEventAspect.lookedUp(LookupOutcome.COLLAPSED);
+  }
+
+  private EmployeeDTO load(String id, Function<String, EmployeeDTO> loader) {
+    long stamp = stamps.get(stripe(id));
+    EmployeeDTO loaded = loader.apply(id);
+    if (loaded != null) {
+      putIfNotEvicted(id, loaded, stamp);
+    }
+    return loaded;
+  }
+
+  /**
+   * Cache a loaded employee unless it was evicted since its stamp was read, before the load.
+   */
+  private void putIfNotEvicted(String id, EmployeeDTO loaded, long stamp) {
+    int stripe = stripe(id);
+    if (stamp == stamps.get(stripe)) {
+      cache.put(id, loaded);
+      // an eviction may have run between the check and the put, it bumped the stamp before evicting
+      if (stamp != stamps.get(stripe)) {
+        cache.asMap().remove(id, loaded);
+      }
+    }
+  }
+
+  /**
+   * Get the employee if cached, without loading it.
+   *
+   * @param id the id of the employee.
+   * @return the cached employee, {@code null} if not cached.
+   */
+  public EmployeeDTO getIfPresent(String id) {
+    return cache.getIfPresent(id);
+  }
+
+  /**
+   * Evict the employee, any load in flight for it will not be cached.
+   *
+   * @param id the id of the employee.
+   */
+  public void evict(String id) {
+    stamps.incrementAndGet(stripe(id));
+    loads.forget(id);
+    versionLoads.forget(id);
+    cache.invalidate(id);
+  }
+
+  /**
+   * Evict every employee, any load in flight will not be cached.
+   */
+  public void evictAll() {
+    for (int i = 0; i < STAMP_STRIPES; i++) {
+      stamps.incrementAndGet(i);
+    }
+    loads.forgetAll();
+    versionLoads.forgetAll();
+    cache.invalidateAll();
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  public Cache<String, EmployeeDTO> getNativeCache() {
+    return cache;
+  }
+
+  public SingleFlight<String, EmployeeDTO> getLoads() {
+    return loads;
+  }
+
+  public SingleFlight<String, Optional<Long>> getVersionLoads() {
+    return versionLoads;
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEmployeeChanged(EmployeeChangedEvent event) {
+    evict(event.getId());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEmployeesBulkChanged(EmployeesBulkChangedEvent event) {
+    if (event.getIds() == null) {
+      evictAll();
+    } else {
+      event.getIds().forEach(this::evict);
+    }
+  }
+
+  private static int stripe(String id) {
+    return id.hashCode() & (STAMP_STRIPES - 1);
+  }
+}
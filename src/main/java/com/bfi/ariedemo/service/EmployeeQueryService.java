@@ -0,0 +1,132 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.domain.Employee;
+import com.bfi.ariedemo.domain.EmployeeLevel;
+import com.bfi.ariedemo.dto.EmployeeCriteria;
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.mapper.EmployeeMapper;
+import com.bfi.ariedemo.repository.EmployeeRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service querying the {@link Employee}s by an {@link EmployeeCriteria}, every filter being pushed down to the database.
+ * <p>
+ * The filters are written to be served by the indexes starting with {@code status}: the name and email filters are
+ * {@code LIKE} prefixes, and the levels turn into ranges of the salary column, adjacent levels into a single range.
+ */
+@Service
+@Transactional(readOnly = true)
+@Timed("employee.service")
+public class EmployeeQueryService {
+
+  private static final char LIKE_ESCAPE = '\\';
+
+  private final Logger log = LoggerFactory.getLogger(EmployeeQueryService.class);
+
+  private final EmployeeRepository employeeRepository;
+
+  private final EmployeeMapper employeeMapper;
+
+  public EmployeeQueryService(EmployeeRepository employeeRepository, EmployeeMapper employeeMapper) {
+    this.employeeRepository = employeeRepository;
+    this.employeeMapper = employeeMapper;
+  }
+
+  /**
+   * Get a page of the employees matching the criteria. The total is only counted when the page does not tell it.
+   *
+   * @param criteria the filters of the employees.
+   * @param pageable the page and its sort.
+   * @return the page of entities.
+   */
+  public Page<EmployeeDTO> findByCriteria(EmployeeCriteria criteria, Pageable pageable) {
+    log.debug("Request to find Employees by {}, page {}", criteria, pageable);
+    return employeeRepository.findAll(createSpecification(criteria), pageable).map(employeeMapper::toDto);
+  }
+
+  /**
+   * Turn the criteria into a {@link Specification}.
+   *
+   * @param criteria the filters of the employees.
+   * @return the specification matching the employees.
+   */
+  public Specification<Employee> createSpecification(EmployeeCriteria criteria) {
+    return (root, query, cb) -> {
+      List<Predicate> predicates = new ArrayList<>();
+      predicates.add(cb.equal(root.get("status"), criteria.isStatus()));
+      if (criteria.getFirstNamePrefix() != null) {
+        predicates.add(cb.like(root.get("firstName"), likePrefix(criteria.getFirstNamePrefix()), LIKE_ESCAPE));
+      }
+      if (criteria.getLastNamePrefix() != null) {
+        predicates.add(cb.like(root.get("lastName"), likePrefix(criteria.getLastNamePrefix()), LIKE_ESCAPE));
+      }
+      if (criteria.getEmailPrefix() != null) {
+        predicates.add(cb.like(root.get("email"), likePrefix(criteria.getEmailPrefix()), LIKE_ESCAPE));
+      }
+      if (criteria.getMinSalary() != null) {
+        predicates.add(cb.greaterThanOrEqualTo(root.get("salary"), criteria.getMinSalary()));
+      }
+      if (criteria.getMaxSalary() != null) {
+        predicates.add(cb.lessThan(root.get("salary"), criteria.getMaxSalary()));
+      }
+      if (criteria.getLevels() != null && !criteria.getLevels().isEmpty()) {
+        List<Predicate> ranges = new ArrayList<>();
+        for (Double[] range : salaryRanges(criteria.getLevels())) {
+          List<Predicate> bounds = new ArrayList<>(2);
+          if (range[0] != null) {
+            bounds.add(cb.greaterThanOrEqualTo(root.get("salary"), range[0]));
+          }
+          if (range[1] != null) {
+            bounds.add(cb.lessThan(root.get("salary"), range[1]));
+          }
+          // all the levels, only the employees without salary have none
+          ranges.add(bounds.isEmpty() ? cb.isNotNull(root.get("salary")) : cb.and(bounds.toArray(new Predicate[0])));
+        }
+        predicates.add(ranges.size() == 1 ? ranges.get(0) : cb.or(ranges.toArray(new Predicate[0])));
+      }
+      return cb.and(predicates.toArray(new Predicate[0]));
+    };
+  }
+
+  /**
+   * The salary ranges of the levels, as {@code [min, max)} pairs with {@code null} for no bound, adjacent levels
+   * being merged.
+   */
+  static List<Double[]> salaryRanges(Set<EmployeeLevel> levels) {
+    List<Double[]> ranges = new ArrayList<>();
+    EmployeeLevel previous = null;
+    for (EmployeeLevel level : EnumSet.copyOf(levels)) {
+      if (previous != null && previous.ordinal() + 1 == level.ordinal()) {
+        ranges.get(ranges.size() - 1)[1] = level.getMaxSalary();
+      } else {
+        ranges.add(new Double[]{level.getMinSalary(), level.getMaxSalary()});
+      }
+      previous = level;
+    }
+    return ranges;
+  }
+
+  private static String likePrefix(String prefix) {
+    StringBuilder pattern = new StringBuilder(prefix.length() + 1);
+    for (char c : prefix.toCharArray()) {
+      if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+        pattern.append(LIKE_ESCAPE);
+      }
+      pattern.append(c);
+    }
+    return pattern.append('%').toString();
+  }
+}
@@ -0,0 +1,536 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.domain.EmployeeLevel;
+import com.bfi.ariedemo.dto.EmployeeSalaryDTO;
+import com.bfi.ariedemo.dto.SalaryBucketDTO;
+import com.bfi.ariedemo.dto.SalaryPercentileDTO;
+import com.bfi.ariedemo.dto.SalaryRangeDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Columnar in-memory index of the employee salaries, answering salary range, level, percentile and histogram queries
+ * without touching the database.
+ * <p>
+ * Every employee gets a row ordinal, its salary and status are held in primitive columns indexed by ordinal. Each
+ * status has a view of its salaried employees sorted by salary, a {@code double[]} of salaries with the parallel
+ * {@code int[]} of ordinals, so counts and percentiles are binary searches and ranges are contiguous slices. Nothing
+ * is boxed.
+ * <p>
+ * The views are immutable and read without locking. Writes are queued and merged into new views by the next read, in
+ * a single pass over the views, so a burst of writes costs one merge.
+ */
+public class EmployeeSalaryIndex {
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  /**
+   * Below this size, a slice is sorted by insertion.
+   */
+  private static final int INSERTION_SORT_THRESHOLD = 16;
+
+  private final ConcurrentLinkedQueue<Change> changes = new ConcurrentLinkedQueue<>();
+
+  private final AtomicLong sequence = new AtomicLong();
+
+  private final Map<String, Integer> ordinals = new HashMap<>();
+
+  private String[] ids = new String[INITIAL_CAPACITY];
+
+  private double[] salaries = new double[INITIAL_CAPACITY];
+
+  private boolean[] statuses = new boolean[INITIAL_CAPACITY];
+
+  private long[] changedAt = new long[INITIAL_CAPACITY];
+
+  private final int[] unsalaried = new int[2];
+
+  private volatile Snapshot snapshot = new Snapshot(View.EMPTY, View.EMPTY, ids, 0);
+
+  /**
+   * Index the current salary and status of an employee.
+   *
+   * @param id     the id of the employee.
+   * @param salary the salary, {@code null} for none.
+   * @param status the status.
+   */
+  public void put(String id, Double salary, boolean status) {
+    changes.add(new Change(id, salary, false, status, sequence.incrementAndGet(), Long.MAX_VALUE));
+  }
+
+  /**
+   * Index a salary and status read from the database, unless the employee was indexed since it was read.
+   *
+   * @param id     the id of the employee.
+   * @param salary the salary, {@code null} for none.
+   * @param status the status.
+   * @param since  the {@link #sequence()} before the read started.
+   */
+  public void putIfUnchangedSince(String id, Double salary, boolean status, long since) {
+    changes.add(new Change(id, salary, false, status, sequence.incrementAndGet(), since));
+  }
+
+  /**
+   * Change the status of an indexed employee, keeping its salary.
+   *
+   * @param id     the id of the employee.
+   * @param status the new status.
+   */
+  public void setStatus(String id, boolean status) {
+    changes.add(new Change(id, null, true, status, sequence.incrementAndGet(), Long.MAX_VALUE));
+  }
+
+  /**
+   * @return the number of writes so far, to tell which employees were indexed after a given point.
+   */
+  public long sequence() {
+    return sequence.get();
+  }
+
+  /**
+   * Count the employees of a salary range.
+   *
+   * @param status    the status of the employees, {@code null} for both.
+   * @param minSalary the inclusive lower bound, {@code null} for none.
+   * @param maxSalary the exclusive upper bound, {@code null} for none.
+   * @return the number of employees.
+   */
+  public long count(Boolean status, Double minSalary, Double maxSalary) {
+    long count = 0;
+    for (View view : read().views(status)) {
+      count += view.count(minSalary, maxSalary);
+    }
+    return count;
+  }
+
+  /**
+   * Get the employees of a salary range, by increasing salary.
+   *
+   * @param status    the status of the employees, {@code null} for both.
+   * @param minSalary the inclusive lower bound, {@code null} for none.
+   * @param maxSalary the exclusive upper bound, {@code null} for none.
+   * @param limit     the maximum number of employees returned.
+   * @return the number of employees of the range and the first ones.
+   */
+  public SalaryRangeDTO range(Boolean status, Double minSalary, Double maxSalary, int limit) {
+    Snapshot current = read();
+    View[] views = current.views(status);
+    int[] positions = new int[views.length];
+    int[] ends = new int[views.length];
+    long count = 0;
+    for (int v = 0; v < views.length; v++) {
+      positions[v] = views[v].lowerBound(minSalary, 0);
+      // an upper bound below the lower one is an empty range
+      ends[v] = Math.max(views[v].lowerBound(maxSalary, views[v].size()), positions[v]);
+      count += ends[v] - positions[v];
+    }
+    List<EmployeeSalaryDTO> employees = new ArrayList<>((int) Math.min(limit, count));
+    while (employees.size() < limit) {
+      int next = -1;
+      for (int v = 0; v < views.length; v++) {
+        if (positions[v] < ends[v]
+          && (next < 0 || views[v].salaries[positions[v]] < views[next].salaries[positions[next]])) {
+          next = v;
+        }
+      }
+      if (next < 0) {
+        break;
+      }
+      View view = views[next];
+      int position = positions[next]++;
+      employees.add(new EmployeeSalaryDTO(
+        current.ids[view.ordinals[position]], view.salaries[position], view == current.active
+      ));
+    }
+    return new SalaryRangeDTO(count, employees);
+  }
+
+  /**
+   * Count the employees of every level, with the thresholds of {@link EmployeeLevel}.
+   *
+   * @param status the status of the employees, {@code null} for both.
+   * @return the count of every level, then of the employees without salary if any.
+   */
+  public List<SalaryBucketDTO> levels(Boolean status) {
+    View[] views = read().views(status);
+    List<SalaryBucketDTO> buckets = new ArrayList<>();
+    for (EmployeeLevel level : EmployeeLevel.values()) {
+      long count = 0;
+      for (View view : views) {
+        count += view.count(level.getMinSalary(), level.getMaxSalary());
+      }
+      buckets.add(new SalaryBucketDTO(level.getLabel(), level.getMinSalary(), level.getMaxSalary(), count));
+    }
+    long withoutSalary = 0;
+    for (View view : views) {
+      withoutSalary += view.unsalaried;
+    }
+    if (withoutSalary > 0) {
+      buckets.add(new SalaryBucketDTO(null, null, null, withoutSalary));
+    }
+    return buckets;
+  }
+
+  /**
+   * Get percentiles of the salaries by the nearest-rank method, employees without salary being ignored.
+   *
+   * @param status      the status of the employees, {@code null} for both.
+   * @param percentiles the percentiles, in {@code (0, 100]}.
+   * @return the salary of every percentile.
+   */
+  public List<SalaryPercentileDTO> percentiles(Boolean status, double... percentiles) {
+    View[] views = read().views(status);
+    View first = views[0];
+    View second = views.length > 1 ? views[1] : View.EMPTY;
+    int size = first.size() + second.size();
+    List<SalaryPercentileDTO> result = new ArrayList<>(percentiles.length);
+    for (double percentile : percentiles) {
+      Double salary = null;
+      if (size > 0) {
+        int rank = (int) Math.ceil(percentile / 100 * size);
+        salary = select(first, second, Math.min(Math.max(rank, 1), size) - 1);
+      }
+      result.add(new SalaryPercentileDTO(percentile, salary));
+    }
+    return result;
+  }
+
+  /**
+   * Count the employees of equal width salary buckets.
+   *
+   * @param status    the status of the employees, {@code null} for both.
+   * @param minSalary the lower bound of the first bucket, the lowest salary when {@code null}.
+   * @param maxSalary the inclusive upper bound of the last bucket, the highest salary when {@code null}.
+   * @param buckets   the number of buckets.
+   * @return the buckets, empty when no bound is given and no employee has a salary.
+   */
+  public List<SalaryBucketDTO> histogram(Boolean status, Double minSalary, Double maxSalary, int buckets) {
+    View[] views = read().views(status);
+    double low = minSalary != null ? minSalary : Double.POSITIVE_INFINITY;
+    double high = maxSalary != null ? maxSalary : Double.NEGATIVE_INFINITY;
+    for (View view : views) {
+      if (view.size() > 0) {
+        low = minSalary != null ? low : Math.min(low, view.salaries[0]);
+        high = maxSalary != null ? high : Math.max(high, view.salaries[view.size() - 1]);
+      }
+    }
+    if (low > high) {
+      return Collections.emptyList();
+    }
+    int count = low == high ? 1 : buckets;
+    double width = (high - low) / count;
+    List<SalaryBucketDTO> result = new ArrayList<>(count);
+    for (int b = 0; b < count; b++) {
+      double from = low + b * width;
+      boolean last = b == count - 1;
+      double to = last ? high : low + (b + 1) * width;
+      long employees = 0;
+      for (View view : views) {
+        employees += view.count(from, last ? Math.nextUp(high) : to);
+      }
+      result.add(new SalaryBucketDTO(null, from, to, employees));
+    }
+    return result;
+  }
+
+  /**
+   * The current snapshot, with the queued writes merged first.
+   */
+  private Snapshot read() {
+    Snapshot current = snapshot;
+    // a merge running on another thread may have polled a write of this thread, wait for it rather than miss it
+    return current.sequence >= sequence.get() ? current : merge();
+  }
+
+  private synchronized Snapshot merge() {
+    Snapshot current = snapshot;
+    long merged = current.sequence;
+    BitSet touched = new BitSet();
+    // the salaried employees leaving each view, indexed by status
+    int[] removed = new int[2];
+    Change change;
+    while ((change = changes.poll()) != null) {
+      merged = Math.max(merged, change.sequence);
+      Integer ordinal = ordinals.get(change.id);
+      if (ordinal == null) {
+        if (change.keepSalary) {
+          continue;
+        }
+        ordinal = append(change.id);
+      } else {
+        if (changedAt[ordinal] > change.since) {
+          continue;
+        }
+        if (Double.isNaN(salaries[ordinal])) {
+          unsalaried[statuses[ordinal] ? 1 : 0]--;
+        } else if (!touched.get(ordinal)) {
+          removed[statuses[ordinal] ? 1 : 0]++;
+        }
+      }
+      if (!change.keepSalary) {
+        salaries[ordinal] = change.salary;
+      }
+      statuses[ordinal] = change.status;
+      changedAt[ordinal] = change.sequence;
+      if (Double.isNaN(salaries[ordinal])) {
+        unsalaried[change.status ? 1 : 0]++;
+      }
+      touched.set(ordinal);
+    }
+    if (merged != current.sequence) {
+      current = touched.isEmpty()
+        ? new Snapshot(current.active, current.inactive, current.ids, merged)
+        : new Snapshot(
+          update(current.active, touched, removed[1], true), update(current.inactive, touched, removed[0], false),
+          ids, merged
+        );
+      snapshot = current;
+    }
+    return current;
+  }
+
+  private int append(String id) {
+    int ordinal = ordinals.size();
+    if (ordinal == ids.length) {
+      int capacity = ids.length * 2;
+      ids = Arrays.copyOf(ids, capacity);
+      salaries = Arrays.copyOf(salaries, capacity);
+      statuses = Arrays.copyOf(statuses, capacity);
+      changedAt = Arrays.copyOf(changedAt, capacity);
+    }
+    ids[ordinal] = id;
+    salaries[ordinal] = Double.NaN;
+    ordinals.put(id, ordinal);
+    return ordinal;
+  }
+
+  /**
+   * Build the view of a status without the touched employees, then merge in the sorted touched employees of the status.
+   * The arrays of a view no touched employee leaves or joins are shared with the new view.
+   */
+  private View update(View view, BitSet touched, int removed, boolean status) {
+    int added = 0;
+    for (int ordinal = touched.nextSetBit(0); ordinal >= 0; ordinal = touched.nextSetBit(ordinal + 1)) {
+      if (statuses[ordinal] == status && !Double.isNaN(salaries[ordinal])) {
+        added++;
+      }
+    }
+    if (removed == 0 && added == 0) {
+      return new View(view.salaries, view.ordinals, unsalaried[status ? 1 : 0]);
+    }
+    double[] addedSalaries = new double[added];
+    int[] addedOrdinals = new int[added];
+    int next = 0;
+    for (int ordinal = touched.nextSetBit(0); ordinal >= 0; ordinal = touched.nextSetBit(ordinal + 1)) {
+      if (statuses[ordinal] == status && !Double.isNaN(salaries[ordinal])) {
+        addedSalaries[next] = salaries[ordinal];
+        addedOrdinals[next++] = ordinal;
+      }
+    }
+    sort(addedSalaries, addedOrdinals, 0, added - 1);
+
+    double[] mergedSalaries = new double[view.size() - removed + added];
+    int[] mergedOrdinals = new int[mergedSalaries.length];
+    int size = 0;
+    int a = 0;
+    for (int i = 0; i < view.size(); i++) {
+      if (touched.get(view.ordinals[i])) {
+        continue;
+      }
+      while (a < added && addedSalaries[a] < view.salaries[i]) {
+        mergedSalaries[size] = addedSalaries[a];
+        mergedOrdinals[size++] = addedOrdinals[a++];
+      }
+      mergedSalaries[size] = view.salaries[i];
+      mergedOrdinals[size++] = view.ordinals[i];
+    }
+    while (a < added) {
+      mergedSalaries[size] = addedSalaries[a];
+      mergedOrdinals[size++] = addedOrdinals[a++];
+    }
+    return new View(mergedSalaries, mergedOrdinals, unsalaried[status ? 1 : 0]);
+  }
+
+  /**
+   * Sort the salaries in place with their ordinals, by quicksort.
+   */
+  private static void sort(double[] salaries, int[] ordinals, int low, int high) {
+    while (high - low >= INSERTION_SORT_THRESHOLD) {
+      double pivot = salaries[(low + high) >>> 1];
+      int i = low;
+      int j = high;
+      while (i <= j) {
+        while (salaries[i] < pivot) {
+          i++;
+        }
+        while (salaries[j] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          swap(salaries, ordinals, i++, j--);
+        }
+      }
+      // recurse into the smaller part to bound the stack depth
+      if (j - low < high - i) {
+        sort(salaries, ordinals, low, j);
+        low = i;
+      } else {
+        sort(salaries, ordinals, i, high);
+        high = j;
+      }
+    }
+    for (int i = low + 1; i <= high; i++) {
+      for (int j = i; j > low && salaries[j - 1] > salaries[j]; j--) {
+        swap(salaries, ordinals, j - 1, j);
+      }
+    }
+  }
+
+  private static void swap(double[] salaries, int[] ordinals, int i, int j) {
+    double salary = salaries[i];
+    salaries[i] = salaries[j];
+    salaries[j] = salary;
+    int ordinal = ordinals[i];
+    ordinals[i] = ordinals[j];
+    ordinals[j] = ordinal;
+  }
+
+  /**
+   * Select the salary of the given 0-based rank in the union of two sorted views.
+   */
+  private static double select(View first, View second, int rank) {
+    double[] a = first.salaries;
+    double[] b = second.salaries;
+    int taken = rank + 1;
+    // the number of salaries taken from the first view, the lowest one whose next salary is not below the last taken
+    int low = Math.max(0, taken - b.length);
+    int high = Math.min(taken, a.length);
+    while (low < high) {
+      int i = (low + high) >>> 1;
+      if (a[i] < b[taken - i - 1]) {
+        low = i + 1;
+      } else {
+        high = i;
+      }
+    }
+    int fromSecond = taken - low;
+    double lastOfFirst = low > 0 ? a[low - 1] : Double.NEGATIVE_INFINITY;
+    double lastOfSecond = fromSecond > 0 ? b[fromSecond - 1] : Double.NEGATIVE_INFINITY;
+    return Math.max(lastOfFirst, lastOfSecond);
+  }
+
+  /**
+   * The salaried employees of a status sorted by salary, and the number of employees of the status without salary.
+   */
+  private static final class View {
+
+    private static final View EMPTY = new View(new double[0], new int[0], 0);
+
+    private final double[] salaries;
+
+    private final int[] ordinals;
+
+    private final int unsalaried;
+
+    private View(double[] salaries, int[] ordinals, int unsalaried) {
+      this.salaries = salaries;
+      this.ordinals = ordinals;
+      this.unsalaried = unsalaried;
+    }
+
+    private int size() {
+      return salaries.length;
+    }
+
+    private long count(Double minSalary, Double maxSalary) {
+      return Math.max(0, lowerBound(maxSalary, size()) - lowerBound(minSalary, 0));
+    }
+
+    /**
+     * The position of the first salary not below the given one, {@code otherwise} when {@code null}.
+     */
+    private int lowerBound(Double salary, int otherwise) {
+      if (salary == null) {
+        return otherwise;
+      }
+      double value = salary;
+      int low = 0;
+      int high = salaries.length;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (salaries[middle] < value) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+  }
+
+  private static final class Snapshot {
+
+    private final View active;
+
+    private final View inactive;
+
+    /**
+     * The ids by ordinal, only appended to, so the array of a snapshot stays valid for its ordinals.
+     */
+    private final String[] ids;
+
+    /**
+     * The highest sequence of the merged writes.
+     */
+    private final long sequence;
+
+    private Snapshot(View active, View inactive, String[] ids, long sequence) {
+      this.active = active;
+      this.inactive = inactive;
+      this.ids = ids;
+      this.sequence = sequence;
+    }
+
+    private View[] views(Boolean status) {
+      if (status == null) {
+        return new View[]{active, inactive};
+      }
+      return new View[]{status ? active : inactive};
+    }
+  }
+
+  private static final class Change {
+
+    private final String id;
+
+    private final double salary;
+
+    private final boolean keepSalary;
+
+    private final boolean status;
+
+    private final long sequence;
+
+    /**
+     * The change is dropped if the employee changed after this sequence.
+     */
+    private final long since;
+
+    private Change(String id, Double salary, boolean keepSalary, boolean status, long sequence, long since) {
+      this.id = id;
+      this.salary = salary == null ? Double.NaN : salary;
+      this.keepSalary = keepSalary;
+      this.status = status;
+      this.sequence = sequence;
+      this.since = since;
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.config.ApplicationProperties;
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.dto.EmployeeSalaryDTO;
+import com.bfi.ariedemo.dto.SalaryBucketDTO;
+import com.bfi.ariedemo.dto.SalaryPercentileDTO;
+import com.bfi.ariedemo.dto.SalaryRangeDTO;
+import com.bfi.ariedemo.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the {@link EmployeeSalaryIndex} in sync with the database.
+ * <p>
+ * The index is filled in the background once the application is ready, and every committed change is then applied to
+ * it. Set-based updates selected by salary range change rows the events do not name, they are read again in the
+ * background, so the index lags behind them until the fill completes. The background fills are skipped when
+ * {@code application.index.background-fill} is disabled.
+ */
+@Component
+public class EmployeeSalaryIndexer {
+
+  private final Logger log = LoggerFactory.getLogger(EmployeeSalaryIndexer.class);
+
+  private final EmployeeSalaryIndex index = new EmployeeSalaryIndex();
+
+  private final EmployeeRepository employeeRepository;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final TaskExecutor taskExecutor;
+
+  private final boolean backgroundFill;
+
+  public EmployeeSalaryIndexer(
+    EmployeeRepository employeeRepository,
+    PlatformTransactionManager transactionManager,
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+    ApplicationProperties applicationProperties
+  ) {
+    this.employeeRepository = employeeRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.taskExecutor = taskExecutor;
+    this.backgroundFill = applicationProperties.getIndex().isBackgroundFill();
+  }
+
+  /**
+   * See {@link EmployeeSalaryIndex#range(Boolean, Double, Double, int)}.
+   */
+  public SalaryRangeDTO range(Boolean status, Double minSalary, Double maxSalary, int limit) {
+    return index.range(status, minSalary, maxSalary, limit);
+  }
+
+  /**
+   * See {@link EmployeeSalaryIndex#levels(Boolean)}.
+   */
+  public List<SalaryBucketDTO> levels(Boolean status) {
+    return index.levels(status);
+  }
+
+  /**
+   * See {@link EmployeeSalaryIndex#percentiles(Boolean, double...)}.
+   */
+  public List<SalaryPercentileDTO> percentiles(Boolean status, double... percentiles) {
+    return index.percentiles(status, percentiles);
+  }
+
+  /**
+   * See {@link EmployeeSalaryIndex#histogram(Boolean, Double, Double, int)}.
+   */
+  public List<SalaryBucketDTO> histogram(Boolean status, Double minSalary, Double maxSalary, int buckets) {
+    return index.histogram(status, minSalary, maxSalary, buckets);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    fillInBackground();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEmployeeChanged(EmployeeChangedEvent event) {
+    EmployeeDTO employee = event.getEmployee();
+    index.put(employee.getId(), employee.getSalary(), employee.isStatus());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEmployeesBulkChanged(EmployeesBulkChangedEvent event) {
+    if (event.getAffected() == 0) {
+      return;
+    }
+    if (event.getType() == EmployeesBulkChangedEvent.Type.DEACTIVATED && event.getIds() != null) {
+      event.getIds().forEach(id -> index.setStatus(id, false));
+    } else {
+      // the updated employees are not known, read them all again
+      fillInBackground();
+    }
+  }
+
+  private void fillInBackground() {
+    if (backgroundFill) {
+      taskExecutor.execute(this::fill);
+    }
+  }
+
+  /**
+   * Index every employee read from the database, unless a committed change indexed it since the read started.
+   * Fills run one at a time, a later fill must not be overtaken by the older rows of an earlier one.
+   */
+  synchronized void fill() {
+    long since = index.sequence();
+    long start = System.nanoTime();
+    Integer read = transactionTemplate.execute(status -> {
+      int count = 0;
+      try (Stream<EmployeeSalaryDTO> salaries = employeeRepository.streamSalaries()) {
+        for (EmployeeSalaryDTO salary : (Iterable<EmployeeSalaryDTO>) salaries::iterator) {
+          index.putIfUnchangedSince(salary.getId(), salary.getSalary(), salary.isStatus(), since);
+          count++;
+        }
+      }
+      return count;
+    });
+    // merge now rather than on the first query
+    index.count(null, null, null);
+    log.info("Indexed {} Employee salaries in {} ms", read, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+  }
+}
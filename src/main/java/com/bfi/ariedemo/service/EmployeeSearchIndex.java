@@ -0,0 +1,260 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.dto.EmployeeSearchHitDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory index of the employees by the words of their first name, last name and email local part, answering
+ * type-ahead searches without touching the database.
+ * <p>
+ * Every word of an employee is a posting of a single sorted set, keyed by the word length, the field, the word and the
+ * id. The words of one length and field starting with a prefix are thus contiguous, and found with one range lookup.
+ * The lookups are visited by increasing length then by field, which is the rank of the hits: exact words first, then
+ * the shortest completions, first names before last names before emails. The search stops once enough hits are found,
+ * so its cost depends on the limit and not on the number of employees.
+ * <p>
+ * Searches never lock. Writes are serialized: the entry of the employee is replaced first, then the postings of its
+ * new words are added and those of its old words removed. A search racing with a write may miss the employee, but a
+ * hit is always checked against its current entry.
+ */
+public class EmployeeSearchIndex {
+
+  /**
+   * Words are indexed up to this length, longer words and search terms are truncated.
+   */
+  static final int MAX_WORD_LENGTH = 32;
+
+  private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+  private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+  private static final char ID_SEPARATOR = '\u0000';
+
+  private static final char RANGE_END = Character.MAX_VALUE;
+
+  /**
+   * The indexed fields, in rank order.
+   */
+  enum Field {
+    FIRST_NAME,
+    LAST_NAME,
+    EMAIL
+  }
+
+  private static final Field[] FIELDS = Field.values();
+
+  private final ConcurrentSkipListSet<String> postings = new ConcurrentSkipListSet<>();
+
+  private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+  private volatile int maxWordLength;
+
+  private volatile long sequence;
+
+  /**
+   * Search the employees having, for every word of the query, a word starting with it.
+   *
+   * @param query  the words to search, in any case and with or without accents.
+   * @param status the status of the employees, {@code null} for both.
+   * @param limit  the maximum number of hits.
+   * @return the best ranked hits.
+   */
+  public List<EmployeeSearchHitDTO> search(String query, Boolean status, int limit) {
+    List<String> terms = words(query);
+    if (terms.isEmpty() || limit <= 0) {
+      return Collections.emptyList();
+    }
+    // the longest term selects the fewest postings, the others are checked on the candidates
+    String driver = terms.get(0);
+    for (String term : terms) {
+      if (term.length() > driver.length()) {
+        driver = term;
+      }
+    }
+    List<EmployeeSearchHitDTO> hits = new ArrayList<>();
+    Set<String> seen = new HashSet<>();
+    int maxLength = maxWordLength;
+    for (int length = driver.length(); length <= maxLength; length++) {
+      for (Field field : FIELDS) {
+        String from = key(length, field, driver);
+        for (String posting : postings.subSet(from, from + RANGE_END)) {
+          String id = posting.substring(posting.indexOf(ID_SEPARATOR, 2) + 1);
+          if (!seen.add(id)) {
+            continue;
+          }
+          Entry entry = entries.get(id);
+          if (entry != null && (status == null || entry.hit.isStatus() == status) && entry.matches(terms)) {
+            hits.add(entry.hit);
+            if (hits.size() == limit) {
+              return hits;
+            }
+          }
+        }
+      }
+    }
+    return hits;
+  }
+
+  /**
+   * Index the current state of an employee.
+   *
+   * @param hit the searched attributes of the employee.
+   */
+  public synchronized void put(EmployeeSearchHitDTO hit) {
+    replace(hit);
+  }
+
+  /**
+   * Index a state of an employee read from the database, unless the employee was indexed since it was read.
+   *
+   * @param hit   the searched attributes of the employee.
+   * @param since the {@link #sequence()} before the read started.
+   * @return whether the employee was indexed.
+   */
+  public synchronized boolean putIfUnchangedSince(EmployeeSearchHitDTO hit, long since) {
+    Entry current = entries.get(hit.getId());
+    if (current != null && current.sequence > since) {
+      return false;
+    }
+    replace(hit);
+    return true;
+  }
+
+  /**
+   * Change the status of an indexed employee.
+   *
+   * @param id     the id of the employee.
+   * @param status the new status.
+   */
+  public synchronized void setStatus(String id, boolean status) {
+    Entry current = entries.get(id);
+    if (current != null && current.hit.isStatus() != status) {
+      EmployeeSearchHitDTO hit = current.hit;
+      replace(new EmployeeSearchHitDTO(hit.getId(), hit.getFirstName(), hit.getLastName(), hit.getEmail(), status));
+    }
+  }
+
+  /**
+   * @return the number of writes so far, to tell which employees were indexed after a given point.
+   */
+  public long sequence() {
+    return sequence;
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  private void replace(EmployeeSearchHitDTO hit) {
+    Entry entry = new Entry(hit, ++sequence);
+    Entry previous = entries.put(hit.getId(), entry);
+    Set<String> keys = entry.keys();
+    for (String key : keys) {
+      if (postings.add(key) && key.charAt(0) > maxWordLength) {
+        maxWordLength = key.charAt(0);
+      }
+    }
+    if (previous != null) {
+      for (String key : previous.keys()) {
+        if (!keys.contains(key)) {
+          postings.remove(key);
+        }
+      }
+    }
+  }
+
+  private static String key(int length, Field field, String word) {
+    return new StringBuilder(word.length() + 2)
+      .append((char) length)
+      .append((char) ('0' + field.ordinal()))
+      .append(word)
+      .toString();
+  }
+
+  /**
+   * Split a text into lower case words of letters and digits, without accents.
+   */
+  static List<String> words(String text) {
+    if (text == null || text.isEmpty()) {
+      return Collections.emptyList();
+    }
+    String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+      .replaceAll("")
+      .toLowerCase(Locale.ROOT);
+    List<String> words = new ArrayList<>();
+    for (String word : SEPARATORS.split(normalized)) {
+      if (!word.isEmpty()) {
+        words.add(word.length() > MAX_WORD_LENGTH ? word.substring(0, MAX_WORD_LENGTH) : word);
+      }
+    }
+    return words;
+  }
+
+  private static String localPart(String email) {
+    if (email == null) {
+      return null;
+    }
+    int at = email.indexOf('@');
+    return at < 0 ? email : email.substring(0, at);
+  }
+
+  /**
+   * An indexed employee, its words are derived again when needed rather than held for every employee.
+   */
+  private static final class Entry {
+
+    private final EmployeeSearchHitDTO hit;
+
+    private final long sequence;
+
+    private Entry(EmployeeSearchHitDTO hit, long sequence) {
+      this.hit = hit;
+      this.sequence = sequence;
+    }
+
+    private List<String> words(Field field) {
+      switch (field) {
+        case FIRST_NAME:
+          return EmployeeSearchIndex.words(hit.getFirstName());
+        case LAST_NAME:
+          return EmployeeSearchIndex.words(hit.getLastName());
+        default:
+          return EmployeeSearchIndex.words(localPart(hit.getEmail()));
+      }
+    }
+
+    private Set<String> keys() {
+      Set<String> keys = new LinkedHashSet<>();
+      for (Field field : FIELDS) {
+        for (String word : words(field)) {
+          keys.add(key(word.length(), field, word) + ID_SEPARATOR + hit.getId());
+        }
+      }
+      return keys;
+    }
+
+    private boolean matches(List<String> terms) {
+      List<String> words = new ArrayList<>();
+      for (Field field : FIELDS) {
+        words.addAll(words(field));
+      }
+      for (String term : terms) {
+        if (words.stream().noneMatch(word -> word.startsWith(term))) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
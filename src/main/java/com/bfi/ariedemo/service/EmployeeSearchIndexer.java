@@ -0,0 +1,121 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.config.ApplicationProperties;
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.dto.EmployeeSearchHitDTO;
+import com.bfi.ariedemo.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the {@link EmployeeSearchIndex} in sync with the database.
+ * <p>
+ * The index is filled in the background once the application is ready, searches meanwhile only see the employees
+ * indexed so far. Every committed change is then applied to it, and wins over the rows read by a concurrent fill.
+ * The background fills are skipped when {@code application.index.background-fill} is disabled.
+ */
+@Component
+public class EmployeeSearchIndexer {
+
+  private final Logger log = LoggerFactory.getLogger(EmployeeSearchIndexer.class);
+
+  private final EmployeeSearchIndex index = new EmployeeSearchIndex();
+
+  private final EmployeeRepository employeeRepository;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final TaskExecutor taskExecutor;
+
+  private final boolean backgroundFill;
+
+  public EmployeeSearchIndexer(
+    EmployeeRepository employeeRepository,
+    PlatformTransactionManager transactionManager,
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+    ApplicationProperties applicationProperties
+  ) {
+    this.employeeRepository = employeeRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.taskExecutor = taskExecutor;
+    this.backgroundFill = applicationProperties.getIndex().isBackgroundFill();
+  }
+
+  /**
+   * Search the employees, see {@link EmployeeSearchIndex#search(String, Boolean, int)}.
+   */
+  public List<EmployeeSearchHitDTO> search(String query, Boolean status, int limit) {
+    return index.search(query, status, limit);
+  }
+
+  public int size() {
+    return index.size();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    fillInBackground();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEmployeeChanged(EmployeeChangedEvent event) {
+    EmployeeDTO employee = event.getEmployee();
+    index.put(new EmployeeSearchHitDTO(
+      employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail(), employee.isStatus()
+    ));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEmployeesBulkChanged(EmployeesBulkChangedEvent event) {
+    if (event.getType() != EmployeesBulkChangedEvent.Type.DEACTIVATED || event.getAffected() == 0) {
+      return;
+    }
+    if (event.getIds() == null) {
+      // the deactivated employees are not known, read them all again
+      fillInBackground();
+    } else {
+      event.getIds().forEach(id -> index.setStatus(id, false));
+    }
+  }
+
+  private void fillInBackground() {
+    if (backgroundFill) {
+      taskExecutor.execute(this::fill);
+    }
+  }
+
+  /**
+   * Index every employee read from the database, unless a committed change indexed it since the read started.
+   * Fills run one at a time, a later fill must not be overtaken by the older rows of an earlier one.
+   */
+  synchronized void fill() {
+    long since = index.sequence();
+    long start = System.nanoTime();
+    Integer indexed = transactionTemplate.execute(status -> {
+      int count = 0;
+      try (Stream<EmployeeSearchHitDTO> hits = employeeRepository.streamSearchHits()) {
+        for (EmployeeSearchHitDTO hit : (Iterable<EmployeeSearchHitDTO>) hits::iterator) {
+          if (index.putIfUnchangedSince(hit, since)) {
+            count++;
+          }
+        }
+      }
+      return count;
+    });
+    log.info("Indexed {} Employees for search in {} ms", indexed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+  }
+}
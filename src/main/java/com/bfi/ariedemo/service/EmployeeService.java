@@ -1,35 +1,103 @@
 package com.bfi.ariedemo.service;
 
 import com.bfi.ariedemo.domain.Employee;
+import com.bfi.ariedemo.dto.CursorPage;
 import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.dto.EmployeeField;
+import com.bfi.ariedemo.dto.EmployeeFieldsDTO;
+import com.bfi.ariedemo.dto.EmployeeLevelStatsDTO;
+import com.bfi.ariedemo.dto.EmployeeLookupDTO;
+import com.bfi.ariedemo.dto.EmployeeSearchHitDTO;
+import com.bfi.ariedemo.dto.PageCursor;
+import com.bfi.ariedemo.dto.SalaryBucketDTO;
+import com.bfi.ariedemo.dto.SalaryPercentileDTO;
+import com.bfi.ariedemo.dto.SalaryRangeDTO;
 import com.bfi.ariedemo.exception.BadRequestException;
+import com.bfi.ariedemo.exception.PreconditionFailedException;
 import com.bfi.ariedemo.mapper.EmployeeMapper;
 import com.bfi.ariedemo.repository.EmployeeRepository;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service Implementation for managing {@link Employee}.
  */
 @Service
 @Transactional
+@Timed("employee.service")
 @SuppressWarnings("unused")
 public class EmployeeService {
 
   private final Logger log = LoggerFactory.getLogger(EmployeeService.class);
 
+  /**
+   * Maximum number of ids bound to a single {@code IN} list.
+   */
+  static final int IN_LIST_CHUNK_SIZE = 1000;
+
   private final EmployeeRepository employeeRepository;
 
   private final EmployeeMapper employeeMapper;
 
-  public EmployeeService(EmployeeRepository employeeRepository, EmployeeMapper employeeMapper) {
+  private final EntityManager entityManager;
+
+  private final EmployeeDtoCache employeeDtoCache;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final EmployeeSearchIndexer employeeSearchIndexer;
+
+  private final EmployeeSalaryIndexer employeeSalaryIndexer;
+
+  private final EmployeeChangeFeed employeeChangeFeed;
+
+  private final EmployeeBatchLoader employeeBatchLoader;
+
+  public EmployeeService(
+    EmployeeRepository employeeRepository,
+    EmployeeMapper employeeMapper,
+    EntityManager entityManager,
+    EmployeeDtoCache employeeDtoCache,
+    ApplicationEventPublisher eventPublisher,
+    EmployeeSearchIndexer employeeSearchIndexer,
+    EmployeeSalaryIndexer employeeSalaryIndexer,
+    EmployeeChangeFeed employeeChangeFeed,
+    EmployeeBatchLoader employeeBatchLoader
+  ) {
     this.employeeRepository = employeeRepository;
     this.employeeMapper = employeeMapper;
+    this.entityManager = entityManager;
+    this.employeeDtoCache = employeeDtoCache;
+    this.eventPublisher = eventPublisher;
+    this.employeeSearchIndexer = employeeSearchIndexer;
+    this.employeeSalaryIndexer = employeeSalaryIndexer;
+    this.employeeChangeFeed = employeeChangeFeed;
+    this.employeeBatchLoader = employeeBatchLoader;
   }
 
   /**
@@ -42,43 +110,171 @@ public class EmployeeService {
     log.debug("Request to save Employee : {}", employeeDTO);
     Employee employee = employeeMapper.toEntity(employeeDTO);
     employee = employeeRepository.save(employee);
-    return employeeMapper.toDto(employee);
+    return publish(EmployeeChangedEvent.Type.CREATED, employeeMapper.toDto(employee));
+  }
+
+  /**
+   * Save a chunk of employees in a single transaction, inserts and updates being sent as JDBC batches.
+   * Employees with an unknown id are created with a new id.
+   * <p>
+   * The known employees are loaded by one query and updated in place, merging detached copies would read them one by
+   * one and reject every copy whose version is not the current one.
+   *
+   * @param employeeDTOs the entities to save.
+   * @return the persisted entities, in the same order.
+   */
+  public List<EmployeeDTO> saveAll(List<EmployeeDTO> employeeDTOs) {
+    log.debug("Request to save {} Employees", employeeDTOs.size());
+    Set<String> ids = employeeDTOs.stream()
+      .map(EmployeeDTO::getId)
+      .filter(Objects::nonNull)
+      .collect(Collectors.toSet());
+    Map<String, Employee> existing = employeeRepository.findAllById(ids).stream()
+      .collect(Collectors.toMap(Employee::getId, Function.identity()));
+    List<Employee> employees = new ArrayList<>(employeeDTOs.size());
+    for (EmployeeDTO employeeDTO : employeeDTOs) {
+      Employee employee = employeeDTO.getId() == null ? null : existing.get(employeeDTO.getId());
+      if (employee == null) {
+        employee = employeeMapper.toEntity(employeeDTO);
+        employee.setId(null);
+        entityManager.persist(employee);
+      } else {
+        employeeMapper.update(employee, employeeDTO);
+      }
+      employees.add(employee);
+    }
+    employeeRepository.flush();
+    List<EmployeeDTO> result = employeeMapper.toDto(employees);
+    for (int i = 0; i < result.size(); i++) {
+      EmployeeDTO saved = result.get(i);
+      boolean updated = saved.getId().equals(employeeDTOs.get(i).getId());
+      publish(updated ? EmployeeChangedEvent.Type.UPDATED : EmployeeChangedEvent.Type.CREATED, saved);
+    }
+    return result;
   }
 
   /**
-   * Update a employee.
+   * Update a employee, writing only the changed columns.
    *
    * @param employeeDTO the entity to save.
    * @return the persisted entity.
    */
   public EmployeeDTO update(EmployeeDTO employeeDTO) {
+    return update(employeeDTO, null);
+  }
+
+  /**
+   * Update a employee if it is still at the given version, writing only the changed columns.
+   *
+   * @param employeeDTO     the entity to save.
+   * @param expectedVersion the version the update was made from, {@code null} to update any version.
+   * @return the persisted entity.
+   * @throws PreconditionFailedException        if the employee is not at the expected version.
+   * @throws OptimisticLockingFailureException if the employee was updated concurrently.
+   */
+  public EmployeeDTO update(EmployeeDTO employeeDTO, Long expectedVersion) {
     log.debug("Request to update Employee : {}", employeeDTO);
-    Employee employee = employeeMapper.toEntity(employeeDTO);
-    employee = employeeRepository.save(employee);
-    return employeeMapper.toDto(employee);
+    Employee employee = getExistingEmployee(employeeDTO.getId(), expectedVersion);
+    employeeMapper.update(employee, employeeDTO);
+    employeeRepository.flush();
+    return publish(EmployeeChangedEvent.Type.UPDATED, employeeMapper.toDto(employee));
   }
 
   /**
-   * Partially update an employee.
+   * Partially update an employee, writing only the changed columns.
    *
    * @param employeeDTO the entity to update partially.
    * @return the persisted entity.
    */
   public EmployeeDTO partialUpdate(EmployeeDTO employeeDTO) {
+    return partialUpdate(employeeDTO, null);
+  }
+
+  /**
+   * Partially update an employee if it is still at the given version, writing only the changed columns.
+   *
+   * @param employeeDTO     the entity to update partially.
+   * @param expectedVersion the version the update was made from, {@code null} to update any version.
+   * @return the persisted entity.
+   * @throws PreconditionFailedException        if the employee is not at the expected version.
+   * @throws OptimisticLockingFailureException if the employee was updated concurrently.
+   */
+  public EmployeeDTO partialUpdate(EmployeeDTO employeeDTO, Long expectedVersion) {
     log.debug("Request to partially update Employee : {}", employeeDTO);
-    return employeeRepository
-      .findById(employeeDTO.getId())
-      .map(existingEmployee -> {
-        employeeMapper.partialUpdate(existingEmployee, employeeDTO);
-        return existingEmployee;
-      })
-      .map(employeeRepository::save)
-      .map(employeeMapper::toDto)
-      .orElse(null);
+    Employee employee = getExistingEmployee(employeeDTO.getId(), expectedVersion);
+    employeeMapper.partialUpdate(employee, employeeDTO);
+    employeeRepository.flush();
+    return publish(EmployeeChangedEvent.Type.PATCHED, employeeMapper.toDto(employee));
   }
 
   /**
-   * Get all the employees.
+   * Soft delete the given employees with set-based updates.
+   *
+   * @param ids the ids of the employees.
+   * @return the number of deactivated employees.
+   */
+  public int deactivate(List<String> ids) {
+    log.debug("Request to deactivate {} Employees", ids.size());
+    Set<String> uniqueIds = new LinkedHashSet<>(ids);
+    List<String> chunk = new ArrayList<>(IN_LIST_CHUNK_SIZE);
+    int affected = 0;
+    for (String id : uniqueIds) {
+      chunk.add(id);
+      if (chunk.size() == IN_LIST_CHUNK_SIZE) {
+        affected += employeeRepository.deactivateByIds(chunk);
+        chunk.clear();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      affected += employeeRepository.deactivateByIds(chunk);
+    }
+    eventPublisher.publishEvent(new EmployeesBulkChangedEvent(EmployeesBulkChangedEvent.Type.DEACTIVATED, uniqueIds, affected));
+    return affected;
+  }
+
+  /**
+   * Soft delete the active employees of a salary range with a single set-based update.
+   *
+   * @param minSalary the inclusive lower bound of the salary range, {@code null} for no lower bound.
+   * @param maxSalary the exclusive upper bound of the salary range, {@code null} for no upper bound.
+   * @return the number of deactivated employees.
+   */
+  public int deactivate(Double minSalary, Double maxSalary) {
+    log.debug("Request to deactivate Employees with salary in [{}, {})", minSalary, maxSalary);
+    int affected = employeeRepository.deactivateBySalaryRange(lowerBound(minSalary), upperBound(maxSalary));
+    eventPublisher.publishEvent(new EmployeesBulkChangedEvent(EmployeesBulkChangedEvent.Type.DEACTIVATED, null, affected));
+    return affected;
+  }
+
+  /**
+   * Adjust the salary of the active employees of a salary range with a single set-based update.
+   *
+   * @param percentage the percentage to apply, exclusive with {@code amount}.
+   * @param amount     the fixed amount to add, exclusive with {@code percentage}.
+   * @param minSalary  the inclusive lower bound of the salary range, {@code null} for no lower bound.
+   * @param maxSalary  the exclusive upper bound of the salary range, {@code null} for no upper bound.
+   * @return the number of updated employees.
+   */
+  public int adjustSalaries(Double percentage, Double amount, Double minSalary, Double maxSalary) {
+    log.debug("Request to adjust salaries by {}% / {} in [{}, {})", percentage, amount, minSalary, maxSalary);
+    int affected = percentage != null
+      ? employeeRepository.multiplySalaries(1 + percentage / 100, lowerBound(minSalary), upperBound(maxSalary))
+      : employeeRepository.addToSalaries(amount, lowerBound(minSalary), upperBound(maxSalary));
+    eventPublisher.publishEvent(new EmployeesBulkChangedEvent(EmployeesBulkChangedEvent.Type.SALARY_ADJUSTED, null, affected));
+    return affected;
+  }
+
+  private static double lowerBound(Double minSalary) {
+    return minSalary == null ? Double.NEGATIVE_INFINITY : minSalary;
+  }
+
+  private static double upperBound(Double maxSalary) {
+    return maxSalary == null ? Double.POSITIVE_INFINITY : maxSalary;
+  }
+
+  /**
+   * Get all the employees. The rows are read straight into DTOs as they are scrolled, without instantiating any
+   * entity, see {@link EmployeeRepository#scrollByStatus}.
    *
    * @param status the status employee.
    * @return the list of entities.
@@ -86,24 +282,264 @@ public class EmployeeService {
   @Transactional(readOnly = true)
   public List<EmployeeDTO> findAll(Boolean status) {
     log.debug("Request to get all Employees");
-    return employeeRepository.findAll()
-      .stream()
-      .filter(employee -> status.equals(employee.isStatus()))
-      .map(employeeMapper::toDto)
-      .collect(Collectors.toList());
+    List<EmployeeDTO> result = new ArrayList<>();
+    employeeRepository.scrollByStatus(status, result::add);
+    return result;
   }
 
   /**
-   * Get one employee by id.
+   * Get a page of employees, ordered by email then id, starting after the given cursor.
    *
-   * @param id the id of the entity.
-   * @return the entity.
+   * @param status the status employee.
+   * @param after  the cursor of the previous page, {@code null} for the first page.
+   * @param limit  the maximum number of employees in the page.
+   * @return the page of entities with the cursor of the next page.
+   */
+  @Transactional(readOnly = true)
+  public CursorPage<EmployeeDTO> findPage(Boolean status, String after, int limit) {
+    log.debug("Request to get a page of Employees after : {}", after);
+    PageCursor cursor = PageCursor.decode(after);
+    // one extra row tells whether a next page exists without a count query
+    Pageable pageable = PageRequest.of(0, limit + 1);
+    List<Employee> employees;
+    if (cursor == null) {
+      employees = employeeRepository.findPage(status, pageable);
+    } else if (cursor.getEmail() == null) {
+      employees = employeeRepository.findPageAfterNullEmail(status, cursor.getId(), pageable);
+    } else {
+      employees = employeeRepository.findPageAfter(status, cursor.getEmail(), cursor.getId(), pageable);
+    }
+
+    String nextCursor = null;
+    if (employees.size() > limit) {
+      employees = employees.subList(0, limit);
+      Employee last = employees.get(limit - 1);
+      nextCursor = new PageCursor(last.getEmail(), last.getId()).encode();
+    }
+    return new CursorPage<>(employeeMapper.toDto(employees), nextCursor);
+  }
+
+  /**
+   * Get the requested fields of all the employees, or of a page of them ordered by email then id when a limit is
+   * given. Only the columns of these fields, the id and the version are selected, no entity is hydrated.
+   *
+   * @param fields the fields to get.
+   * @param status the status employee.
+   * @param after  the cursor of the previous page, {@code null} for the first page.
+   * @param limit  the maximum number of employees in the page, {@code null} for all the employees.
+   * @return the page of the fields of the employees, with the cursor of the next page.
+   */
+  @Transactional(readOnly = true)
+  public CursorPage<EmployeeFieldsDTO> findFields(Set<EmployeeField> fields, Boolean status, String after, Integer limit) {
+    log.debug("Request to get the fields {} of Employees after : {}", fields, after);
+    PageCursor cursor = PageCursor.decode(after);
+    Set<String> attributes = new LinkedHashSet<>();
+    attributes.add(EmployeeField.ID.getAttribute());
+    attributes.add(EmployeeField.VERSION.getAttribute());
+    if (limit != null) {
+      attributes.add(EmployeeField.EMAIL.getAttribute());
+    }
+    fields.forEach(field -> attributes.add(field.getAttribute()));
+    // one extra row tells whether a next page exists without a count query
+    List<Tuple> rows = employeeRepository.findAttributes(attributes, status, cursor, limit == null ? null : limit + 1);
+
+    String nextCursor = null;
+    if (limit != null && rows.size() > limit) {
+      rows = rows.subList(0, limit);
+      Tuple last = rows.get(limit - 1);
+      nextCursor = new PageCursor(
+        last.get(EmployeeField.EMAIL.getAttribute(), String.class), last.get(EmployeeField.ID.getAttribute(), String.class)
+      ).encode();
+    }
+    List<EmployeeFieldsDTO> result = new ArrayList<>(rows.size());
+    for (Tuple row : rows) {
+      Map<String, Object> values = new LinkedHashMap<>();
+      for (EmployeeField field : fields) {
+        Object value = row.get(field.getAttribute());
+        values.put(field.getName(), field == EmployeeField.LEVEL ? employeeMapper.getLevelingName((Double) value) : value);
+      }
+      result.add(new EmployeeFieldsDTO(
+        row.get(EmployeeField.ID.getAttribute(), String.class), row.get(EmployeeField.VERSION.getAttribute(), Long.class), values
+      ));
+    }
+    return new CursorPage<>(result, nextCursor);
+  }
+
+  /**
+   * Get the requested fields of one employee, see {@link #findOne(String)}.
+   *
+   * @param id     the id of the entity.
+   * @param fields the fields to get.
+   * @return the fields of the entity.
    */
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public EmployeeFieldsDTO findOneFields(String id, Set<EmployeeField> fields) {
+    EmployeeDTO employeeDTO = findOne(id);
+    Map<String, Object> values = new LinkedHashMap<>();
+    fields.forEach(field -> values.put(field.getName(), field.get(employeeDTO)));
+    return new EmployeeFieldsDTO(employeeDTO.getId(), employeeDTO.getVersion(), values);
+  }
 
+  /**
+   * Export all the employees one by one, each entity being detached once handed to the consumer.
+   *
+   * @param consumer the consumer receiving every employee.
+   * @return the number of exported employees.
+   */
   @Transactional(readOnly = true)
+  public long exportAll(Consumer<EmployeeDTO> consumer) {
+    log.debug("Request to export all Employees");
+    long count = 0;
+    try (Stream<Employee> employees = employeeRepository.streamAll()) {
+      Iterator<Employee> iterator = employees.iterator();
+      while (iterator.hasNext()) {
+        Employee employee = iterator.next();
+        consumer.accept(employeeMapper.toDto(employee));
+        entityManager.detach(employee);
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Get the salary statistics per level and status, computed by the database.
+   *
+   * @param status the status employee, {@code null} for both.
+   * @return the statistics of every level and status having employees.
+   */
+  @Transactional(readOnly = true)
+  public List<EmployeeLevelStatsDTO> findLevelStats(Boolean status) {
+    log.debug("Request to get the level statistics of Employees");
+    return employeeRepository.aggregateByLevel(status);
+  }
+
+  /**
+   * Get one employee by id, served by the {@link EmployeeDtoCache} without opening a transaction when cached.
+   * Concurrent misses of the same employee share one query, concurrent misses of different employees are gathered
+   * into one query by the {@link EmployeeBatchLoader}.
+   *
+   * @param id the id of the entity.
+   * @return the entity.
+   */
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
   public EmployeeDTO findOne(String id) {
     log.debug("Request to get Employee : {}", id);
-    return employeeMapper.toDto(getEmployeeById(id));
+    return employeeDtoCache.get(id, employeeBatchLoader::load);
+  }
+
+  /**
+   * Get the employees by ids, from the {@link EmployeeDtoCache} when cached and otherwise with one {@code IN} query
+   * per chunk of ids.
+   *
+   * @param ids the ids of the entities.
+   * @return the outcome of every id, in the same order.
+   */
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public List<EmployeeLookupDTO> findAllById(List<String> ids) {
+    log.debug("Request to get {} Employees by id", ids.size());
+    Map<String, EmployeeDTO> found = employeeDtoCache.getAll(ids, employeeBatchLoader::loadAll);
+    List<EmployeeLookupDTO> result = new ArrayList<>(ids.size());
+    for (String id : ids) {
+      EmployeeDTO employeeDTO = found.get(id);
+      result.add(new EmployeeLookupDTO(id, employeeDTO != null, employeeDTO));
+    }
+    return result;
+  }
+
+  /**
+   * Get the version of an employee, from the {@link EmployeeDtoCache} when cached, otherwise without loading the row
+   * into an entity. Concurrent lookups of the same employee share one query.
+   *
+   * @param id the id of the entity.
+   * @return the version, or empty if the employee does not exist.
+   */
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public Optional<Long> findVersion(String id) {
+    log.debug("Request to get the version of Employee : {}", id);
+    return employeeDtoCache.getVersion(id, employeeRepository::findVersionById);
+  }
+
+  /**
+   * Search the employees by the beginning of the words of their names and email, served by the in-memory
+   * {@link EmployeeSearchIndex} without opening a transaction.
+   *
+   * @param query  the beginning of the words to search.
+   * @param status the status employee, {@code null} for both.
+   * @param limit  the maximum number of employees.
+   * @return the best ranked employees.
+   */
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public List<EmployeeSearchHitDTO> search(String query, Boolean status, int limit) {
+    log.debug("Request to search Employees : {}", query);
+    return employeeSearchIndexer.search(query, status, limit);
+  }
+
+  /**
+   * Get the employees of a salary range by increasing salary, served by the in-memory {@link EmployeeSalaryIndex}.
+   *
+   * @param status    the status of employee, {@code null} for both.
+   * @param minSalary the inclusive lower bound, {@code null} for none.
+   * @param maxSalary the exclusive upper bound, {@code null} for none.
+   * @param limit     the maximum number of employees.
+   * @return the number of employees of the range and the first ones.
+   */
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public SalaryRangeDTO findBySalaryRange(Boolean status, Double minSalary, Double maxSalary, int limit) {
+    log.debug("Request to get Employees by salary range : [{}, {})", minSalary, maxSalary);
+    return employeeSalaryIndexer.range(status, minSalary, maxSalary, limit);
+  }
+
+  /**
+   * Count the employees per level, served by the in-memory {@link EmployeeSalaryIndex}.
+   *
+   * @param status the status of employee, {@code null} for both.
+   * @return the count of every level, then of the employees without salary if any.
+   */
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public List<SalaryBucketDTO> countBySalaryLevel(Boolean status) {
+    log.debug("Request to count Employees by salary level");
+    return employeeSalaryIndexer.levels(status);
+  }
+
+  /**
+   * Get percentiles of the salaries, served by the in-memory {@link EmployeeSalaryIndex}.
+   *
+   * @param status      the status of employee, {@code null} for both.
+   * @param percentiles the percentiles, in {@code (0, 100]}.
+   * @return the salary of every percentile, {@code null} when no employee has a salary.
+   */
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public List<SalaryPercentileDTO> findSalaryPercentiles(Boolean status, double... percentiles) {
+    log.debug("Request to get the salary percentiles of Employees");
+    return employeeSalaryIndexer.percentiles(status, percentiles);
+  }
+
+  /**
+   * Get the salary histogram of the employees, served by the in-memory {@link EmployeeSalaryIndex}.
+   *
+   * @param status    the status of employee, {@code null} for both.
+   * @param minSalary the lower bound of the first bucket, the lowest salary when {@code null}.
+   * @param maxSalary the inclusive upper bound of the last bucket, the highest salary when {@code null}.
+   * @param buckets   the number of buckets.
+   * @return the buckets.
+   */
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public List<SalaryBucketDTO> findSalaryHistogram(Boolean status, Double minSalary, Double maxSalary, int buckets) {
+    log.debug("Request to get the salary histogram of Employees");
+    return employeeSalaryIndexer.histogram(status, minSalary, maxSalary, buckets);
+  }
+
+  /**
+   * Subscribe to the committed changes of the employees, served by the {@link EmployeeChangeFeed}.
+   *
+   * @param lastEventId the id of the last event received by a resuming subscriber, {@code null} for a new one.
+   * @return the emitter of the changes.
+   */
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public SseEmitter subscribeToChanges(String lastEventId) {
+    log.debug("Request to subscribe to the Employee changes from : {}", lastEventId);
+    return employeeChangeFeed.subscribe(lastEventId);
   }
 
   /**
@@ -115,7 +551,28 @@ public class EmployeeService {
     log.debug("Request to delete Employee : {}", id);
     var employee = getEmployeeById(id);
     employee.setStatus(false);
-    employeeRepository.save(employee);
+    employee = employeeRepository.saveAndFlush(employee);
+    publish(EmployeeChangedEvent.Type.DELETED, employeeMapper.toDto(employee));
+  }
+
+  private EmployeeDTO publish(EmployeeChangedEvent.Type type, EmployeeDTO employeeDTO) {
+    eventPublisher.publishEvent(new EmployeeChangedEvent(type, employeeDTO.getId(), employeeDTO));
+    return employeeDTO;
+  }
+
+  /**
+   * Load the managed employee to update, from the second level cache when possible.
+   * The changes are flushed by dirty checking as one dynamic UPDATE, without any merge, before the DTO is built so
+   * that it carries the incremented version. The UPDATE only matches the row at the loaded version, so an update
+   * committed in between fails it with an {@link OptimisticLockingFailureException} rather than being overwritten.
+   */
+  private Employee getExistingEmployee(String id, Long expectedVersion) {
+    Employee employee = employeeRepository.findById(id)
+      .orElseThrow(() -> new BadRequestException("Entity not found"));
+    if (expectedVersion != null && employee.getVersion() != expectedVersion) {
+      throw new PreconditionFailedException("If-Match does not match the current version");
+    }
+    return employee;
   }
 
   private Employee getEmployeeById(String id) {
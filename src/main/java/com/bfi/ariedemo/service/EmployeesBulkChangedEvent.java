@@ -0,0 +1,30 @@
+package com.bfi.ariedemo.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+
+/**
+ * Published by {@link EmployeeService} for set-based updates, listeners receive it once the transaction commits.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class EmployeesBulkChangedEvent {
+
+  public enum Type {
+    DEACTIVATED,
+    SALARY_ADJUSTED
+  }
+
+  private final Type type;
+
+  /**
+   * Ids of the targeted employees, {@code null} when the update was selected by criteria and may affect any employee.
+   */
+  private final Set<String> ids;
+
+  private final int affected;
+}
@@ -0,0 +1,35 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.exception.BadRequestException;
+import com.bfi.ariedemo.mapper.EmployeeMapper;
+import com.bfi.ariedemo.repository.ReactiveEmployeeRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service of the reactive, read-only, employee API.
+ */
+@Service
+public class ReactiveEmployeeService {
+
+  private final ReactiveEmployeeRepository reactiveEmployeeRepository;
+
+  private final EmployeeMapper employeeMapper;
+
+  public ReactiveEmployeeService(ReactiveEmployeeRepository reactiveEmployeeRepository, EmployeeMapper employeeMapper) {
+    this.reactiveEmployeeRepository = reactiveEmployeeRepository;
+    this.employeeMapper = employeeMapper;
+  }
+
+  public Flux<EmployeeDTO> findAll(boolean status) {
+    return reactiveEmployeeRepository.findAllByStatus(status).map(employeeMapper::toDto);
+  }
+
+  public Mono<EmployeeDTO> findOne(String id) {
+    return reactiveEmployeeRepository.findById(id)
+      .map(employeeMapper::toDto)
+      .switchIfEmpty(Mono.error(() -> new BadRequestException("Not Found")));
+  }
+}
@@ -0,0 +1,127 @@
+package com.bfi.ariedemo.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Collapses the concurrent calls for the same key into one.
+ * <p>
+ * The first caller of a key runs the call, the callers arriving while it is in flight wait for it and share its
+ * result, or its exception. Nothing is kept once the call returns: a later caller runs the call again. The in-flight
+ * calls are published in a {@link ConcurrentHashMap}, joining one is a lock-free read.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the results.
+ */
+public class SingleFlight<K, V> {
+
+  private final ConcurrentMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+
+  private final LongAdder executed = new LongAdder();
+
+  private final LongAdder collapsed = new LongAdder();
+
+  private final Runnable onCollapsed;
+
+  public SingleFlight() {
+    this(() -> {
+    });
+  }
+
+  /**
+   * @param onCollapsed run by every caller about to wait for a call in flight, on its own thread.
+   */
+  public SingleFlight(Runnable onCollapsed) {
+    this.onCollapsed = onCollapsed;
+  }
+
+  /**
+   * Run the call for the key, or wait for the call in flight for it.
+   *
+   * @param key  the key of the call.
+   * @param call the call, run by the calling thread without any lock held.
+   * @return the result of the call.
+   */
+  public V execute(K key, Function<? super K, ? extends V> call) {
+    CompletableFuture<V> inFlight = flights.get(key);
+    if (inFlight != null) {
+      return await(inFlight);
+    }
+    CompletableFuture<V> flight = new CompletableFuture<>();
+    inFlight = flights.putIfAbsent(key, flight);
+    if (inFlight != null) {
+      return await(inFlight);
+    }
+    executed.increment();
+    try {
+      V value = call.apply(key);
+      flight.complete(value);
+      return value;
+    } catch (Throwable e) {
+      // the waiters get the same exception, whatever it is, rather than waiting forever
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      flights.remove(key, flight);
+    }
+  }
+
+  /**
+   * Let the next callers of the key run the call again instead of waiting for the call in flight, once its result
+   * may be outdated. The callers already waiting still get it.
+   *
+   * @param key the key of the call.
+   */
+  public void forget(K key) {
+    flights.remove(key);
+  }
+
+  /**
+   * Forget every call in flight, see {@link #forget(Object)}.
+   */
+  public void forgetAll() {
+    flights.clear();
+  }
+
+  /**
+   * @return the number of calls run.
+   */
+  public long executed() {
+    return executed.sum();
+  }
+
+  /**
+   * @return the number of calls that waited for a call in flight instead of being run.
+   */
+  public long collapsed() {
+    return collapsed.sum();
+  }
+
+  /**
+   * @return the number of calls in flight.
+   */
+  public int inFlight() {
+    return flights.size();
+  }
+
+  private V await(CompletableFuture<V> flight) {
+    collapsed.increment();
+    onCollapsed.run();
+    try {
+      return flight.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package com.bfi.ariedemo.timing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of one {@link com.bfi.ariedemo.service.EmployeeService} operation.
+ * <p>
+ * Disabled unless enabled by the recording settings, see {@code jfr/ariedemo.jfc}.
+ */
+@Name("com.bfi.ariedemo.EmployeeOperation")
+@Label("Employee Operation")
+@Category({"Ariedemo", "Employee"})
+@Description("Employee service call")
+@Enabled(false)
+@StackTrace(false)
+public class EmployeeOperationEvent extends Event {
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Employee Id")
+  String employeeId;
+
+  @Label("Rows")
+  @Description("Employees returned or updated")
+  long rows;
+
+  @Label("SQL Statements")
+  int statements;
+
+  @Label("Lookup")
+  @Description("How the employees looked up were served: HIT from the employee cache, MISS loaded by this call,"
+    + " COLLAPSED waiting for the same load of another call, BATCHED waiting for a batch loaded by another call")
+  String lookup;
+}
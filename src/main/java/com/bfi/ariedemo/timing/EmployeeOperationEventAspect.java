@@ -0,0 +1,97 @@
+package com.bfi.ariedemo.timing;
+
+import com.bfi.ariedemo.dto.CursorPage;
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.Collection;
+
+/**
+ * Emits an {@link EmployeeOperationEvent} per call of the {@link com.bfi.ariedemo.service.EmployeeService}, when the
+ * event is enabled in the running recordings.
+ * <p>
+ * Runs outside of the transaction, so that the statements flushed on commit are counted.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class EmployeeOperationEventAspect {
+
+  private static final ThreadLocal<EmployeeOperationEvent> CURRENT = new ThreadLocal<>();
+
+  @Around("execution(public * com.bfi.ariedemo.service.EmployeeService.*(..))")
+  public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+    EmployeeOperationEvent event = new EmployeeOperationEvent();
+    if (!event.isEnabled() || CURRENT.get() != null) {
+      return joinPoint.proceed();
+    }
+    CURRENT.set(event);
+    event.begin();
+    Object result = null;
+    try {
+      result = joinPoint.proceed();
+      return result;
+    } finally {
+      CURRENT.remove();
+      event.end();
+      if (event.shouldCommit()) {
+        event.operation = joinPoint.getSignature().getName();
+        event.employeeId = employeeId(joinPoint.getArgs());
+        event.rows = rows(result);
+        event.commit();
+      }
+    }
+  }
+
+  /**
+   * Count a SQL statement executed by the operation running on the current thread, if any is recorded.
+   */
+  static void statementExecuted() {
+    EmployeeOperationEvent event = CURRENT.get();
+    if (event != null) {
+      event.statements++;
+    }
+  }
+
+  /**
+   * Record how an employee looked up by the operation running on the current thread was served, if any is recorded.
+   * The statements of a load run by another thread are not counted, the outcome tells the waits for them apart.
+   *
+   * @param outcome the outcome of the lookup.
+   */
+  public static void lookedUp(LookupOutcome outcome) {
+    EmployeeOperationEvent event = CURRENT.get();
+    if (event != null && (event.lookup == null || LookupOutcome.valueOf(event.lookup).compareTo(outcome) < 0)) {
+      event.lookup = outcome.name();
+    }
+  }
+
+  private static String employeeId(Object[] args) {
+    if (args.length == 0) {
+      return null;
+    }
+    if (args[0] instanceof String) {
+      return (String) args[0];
+    }
+    if (args[0] instanceof EmployeeDTO) {
+      return ((EmployeeDTO) args[0]).getId();
+    }
+    return null;
+  }
+
+  private static long rows(Object result) {
+    if (result instanceof Collection) {
+      return ((Collection<?>) result).size();
+    }
+    if (result instanceof CursorPage) {
+      return ((CursorPage<?>) result).getContent().size();
+    }
+    if (result instanceof Number) {
+      return ((Number) result).longValue();
+    }
+    return result != null ? 1 : 0;
+  }
+}
@@ -0,0 +1,27 @@
+package com.bfi.ariedemo.timing;
+
+/**
+ * How the employees looked up by an {@link com.bfi.ariedemo.service.EmployeeService} operation were served, recorded
+ * on its {@link EmployeeOperationEvent}.
+ * <p>
+ * An operation looking up several employees keeps the last of its outcomes in declaration order, the furthest from
+ * the employee cache.
+ */
+public enum LookupOutcome {
+  /**
+   * Served by the employee cache.
+   */
+  HIT,
+  /**
+   * Loaded by the operation itself.
+   */
+  MISS,
+  /**
+   * Waited for the same load in flight for another operation.
+   */
+  COLLAPSED,
+  /**
+   * Waited for a batch loaded by another operation.
+   */
+  BATCHED
+}
@@ -0,0 +1,45 @@
+package com.bfi.ariedemo.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Records the controller, service, repository and mapping phases of the timed requests.
+ */
+@Aspect
+public class RequestTimingAspect {
+
+  @Around("@within(org.springframework.web.bind.annotation.RestController)")
+  public Object controller(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(RequestTimings.Phase.CONTROLLER, joinPoint);
+  }
+
+  @Around("@within(org.springframework.stereotype.Service)")
+  public Object service(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(RequestTimings.Phase.SERVICE, joinPoint);
+  }
+
+  @Around("execution(* com.bfi.ariedemo.repository.EmployeeRepository+.*(..))")
+  public Object repository(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(RequestTimings.Phase.REPOSITORY, joinPoint);
+  }
+
+  @Around("execution(* com.bfi.ariedemo.mapper.EmployeeMapper+.*(..))")
+  public Object mapping(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(RequestTimings.Phase.MAPPING, joinPoint);
+  }
+
+  private static Object time(RequestTimings.Phase phase, ProceedingJoinPoint joinPoint) throws Throwable {
+    RequestTimings timings = RequestTimings.current();
+    if (timings == null) {
+      return joinPoint.proceed();
+    }
+    timings.start(phase);
+    try {
+      return joinPoint.proceed();
+    } finally {
+      timings.stop(phase);
+    }
+  }
+}
@@ -0,0 +1,204 @@
+package com.bfi.ariedemo.timing;
+
+import java.util.Arrays;
+
+/**
+ * Phase durations of one request, in nanoseconds.
+ * <p>
+ * The instance is bound to the thread serving the request, recording a phase neither allocates nor locks. Every thread
+ * reuses one instance for its synchronous requests, an asynchronous request keeps the instance it started with. A
+ * phase is only recorded by one thread at a time, the request thread hands the timings over to the executor running
+ * its service calls.
+ * Phases are inclusive: the service time contains the repository and mapping times. The controller time only
+ * contains the service time for the synchronous endpoints, the asynchronous ones run their service calls on another
+ * thread. Nested or re-entrant calls of the same phase are only counted once.
+ */
+public final class RequestTimings {
+
+  public enum Phase {
+    CONTROLLER("ctrl", "controller"),
+    SERVICE("svc", "service"),
+    REPOSITORY("db", "repository"),
+    MAPPING("map", "mapping"),
+    SERIALIZATION("ser", "serialization");
+
+    private final String metricName;
+
+    private final String description;
+
+    Phase(String metricName, String description) {
+      this.metricName = metricName;
+      this.description = description;
+    }
+  }
+
+  private static final Phase[] PHASES = Phase.values();
+
+  private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+  /**
+   * The instance of the thread, reused by its next request.
+   */
+  private static final ThreadLocal<RequestTimings> REUSABLE = new ThreadLocal<>();
+
+  private long startNanos = System.nanoTime();
+
+  private final long[] totals = new long[PHASES.length];
+
+  private final long[] starts = new long[PHASES.length];
+
+  private final int[] depths = new int[PHASES.length];
+
+  /**
+   * Get the timings of the request served by the current thread.
+   *
+   * @return the timings, or {@code null} outside of a timed request.
+   */
+  public static RequestTimings current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Bind the timings of a new request to the current thread, the instance of the thread reset.
+   *
+   * @return the timings.
+   */
+  public static RequestTimings bind() {
+    RequestTimings timings = REUSABLE.get();
+    if (timings == null) {
+      timings = new RequestTimings();
+      REUSABLE.set(timings);
+    } else {
+      timings.reset();
+    }
+    CURRENT.set(timings);
+    return timings;
+  }
+
+  /**
+   * Hand the timings over to a request going on after its thread is released, the thread uses new timings for its
+   * next request.
+   *
+   * @param timings the timings of the request.
+   */
+  public static void detach(RequestTimings timings) {
+    if (REUSABLE.get() == timings) {
+      REUSABLE.remove();
+    }
+  }
+
+  /**
+   * Bind the timings of a request to the current thread.
+   *
+   * @param timings the timings, {@code null} to unbind.
+   */
+  public static void bind(RequestTimings timings) {
+    if (timings == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(timings);
+    }
+  }
+
+  /**
+   * Propagate the timings of the current thread to a task run by another thread.
+   *
+   * @param task the task.
+   * @return the task running with the timings bound, or the task itself outside of a timed request.
+   */
+  public static Runnable propagate(Runnable task) {
+    RequestTimings timings = CURRENT.get();
+    if (timings == null) {
+      return task;
+    }
+    return () -> {
+      CURRENT.set(timings);
+      try {
+        task.run();
+      } finally {
+        CURRENT.remove();
+      }
+    };
+  }
+
+  public void start(Phase phase) {
+    int i = phase.ordinal();
+    if (depths[i]++ == 0) {
+      starts[i] = System.nanoTime();
+    }
+  }
+
+  public void stop(Phase phase) {
+    int i = phase.ordinal();
+    if (--depths[i] == 0) {
+      totals[i] += System.nanoTime() - starts[i];
+    }
+  }
+
+  private void reset() {
+    startNanos = System.nanoTime();
+    Arrays.fill(totals, 0);
+    Arrays.fill(depths, 0);
+  }
+
+  public long elapsedNanos() {
+    return System.nanoTime() - startNanos;
+  }
+
+  public long nanos(Phase phase) {
+    return totals[phase.ordinal()];
+  }
+
+  /**
+   * Format the recorded phases as a {@code Server-Timing} header value, durations in milliseconds.
+   *
+   * @return the header value.
+   */
+  public String toServerTiming() {
+    StringBuilder header = new StringBuilder(160);
+    for (Phase phase : PHASES) {
+      if (totals[phase.ordinal()] > 0) {
+        header.append(phase.metricName).append(";desc=").append(phase.description).append(";dur=");
+        appendMillis(header, totals[phase.ordinal()]).append(", ");
+      }
+    }
+    header.append("total;dur=");
+    return appendMillis(header, elapsedNanos()).toString();
+  }
+
+  /**
+   * Format one phase as a {@code Server-Timing} header value, duration in milliseconds.
+   *
+   * @param phase the phase.
+   * @return the header value.
+   */
+  public String toServerTiming(Phase phase) {
+    StringBuilder header = new StringBuilder(48)
+      .append(phase.metricName).append(";desc=").append(phase.description).append(";dur=");
+    return appendMillis(header, totals[phase.ordinal()]).toString();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder breakdown = new StringBuilder(160).append("total=");
+    appendMillis(breakdown, elapsedNanos()).append("ms");
+    for (Phase phase : PHASES) {
+      breakdown.append(", ").append(phase.description).append('=');
+      appendMillis(breakdown, totals[phase.ordinal()]).append("ms");
+    }
+    return breakdown.toString();
+  }
+
+  private static StringBuilder appendMillis(StringBuilder builder, long nanos) {
+    long micros = nanos / 1000;
+    builder.append(micros / 1000).append('.');
+    long fraction = micros % 1000;
+    if (fraction < 100) {
+      builder.append('0');
+    }
+    if (fraction < 10) {
+      builder.append('0');
+    }
+    return builder.append(fraction);
+  }
+}
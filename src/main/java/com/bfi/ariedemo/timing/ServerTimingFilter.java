@@ -0,0 +1,160 @@
+package com.bfi.ariedemo.timing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Binds the {@link RequestTimings} of each request, sends them as a {@code Server-Timing} header and logs the slow
+ * requests with their breakdown.
+ * <p>
+ * The header is written before the body, the serialization phase follows in a {@code Server-Timing} trailer, sent by
+ * the chunked HTTP/1.1 and the HTTP/2 responses.
+ */
+@Slf4j
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+  public static final String SERVER_TIMING = "Server-Timing";
+
+  private static final String TIMINGS_ATTRIBUTE = ServerTimingFilter.class.getName() + ".TIMINGS";
+
+  private static final String RESPONSE_ATTRIBUTE = ServerTimingFilter.class.getName() + ".RESPONSE";
+
+  private final boolean header;
+
+  private final long slowRequestThresholdNanos;
+
+  public ServerTimingFilter(boolean header, Duration slowRequestThreshold) {
+    this.header = header;
+    this.slowRequestThresholdNanos = slowRequestThreshold.toNanos();
+  }
+
+  @Override
+  protected boolean shouldNotFilterAsyncDispatch() {
+    return false;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+    throws ServletException, IOException {
+    RequestTimings timings = (RequestTimings) request.getAttribute(TIMINGS_ATTRIBUTE);
+    ServerTimingResponse timedResponse = (ServerTimingResponse) request.getAttribute(RESPONSE_ATTRIBUTE);
+    if (timings == null) {
+      timings = RequestTimings.bind();
+      request.setAttribute(TIMINGS_ATTRIBUTE, timings);
+      if (header) {
+        timedResponse = new ServerTimingResponse(response, timings);
+        request.setAttribute(RESPONSE_ATTRIBUTE, timedResponse);
+      }
+    } else {
+      RequestTimings.bind(timings);
+    }
+    try {
+      filterChain.doFilter(request, timedResponse != null ? timedResponse : response);
+    } finally {
+      RequestTimings.bind(null);
+      // an asynchronous request is completed by its async dispatch, the thread may serve other requests meanwhile
+      if (isAsyncStarted(request)) {
+        RequestTimings.detach(timings);
+      } else {
+        complete(request, response, timings, timedResponse);
+      }
+    }
+  }
+
+  private void complete(
+    HttpServletRequest request, HttpServletResponse response, RequestTimings timings, ServerTimingResponse timedResponse
+  ) {
+    if (timedResponse != null) {
+      timedResponse.addServerTiming();
+    }
+    // an event stream lasts as long as its subscription
+    boolean stream = response.getContentType() != null
+      && response.getContentType().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    if (!stream && timings.elapsedNanos() >= slowRequestThresholdNanos) {
+      log.warn("Slow request {} {}: {}", request.getMethod(), request.getRequestURI(), timings);
+    }
+  }
+
+  /**
+   * Adds the {@code Server-Timing} header right before the response body is opened, while headers can still be
+   * written, and the trailer of the serialization phase.
+   */
+  private static class ServerTimingResponse extends HttpServletResponseWrapper {
+
+    private final RequestTimings timings;
+
+    private boolean added;
+
+    ServerTimingResponse(HttpServletResponse response, RequestTimings timings) {
+      super(response);
+      this.timings = timings;
+    }
+
+    void addServerTiming() {
+      if (!added && !isCommitted()) {
+        setHeader(SERVER_TIMING, timings.toServerTiming());
+        try {
+          setTrailerFields(this::trailer);
+          setHeader(HttpHeaders.TRAILER, SERVER_TIMING);
+        } catch (IllegalStateException e) {
+          // HTTP/1.0 has no trailers
+        }
+      }
+      added = true;
+    }
+
+    /**
+     * The trailer, read once the body is written.
+     */
+    private Map<String, String> trailer() {
+      if (timings.nanos(RequestTimings.Phase.SERIALIZATION) == 0) {
+        return Collections.emptyMap();
+      }
+      return Collections.singletonMap(SERVER_TIMING, timings.toServerTiming(RequestTimings.Phase.SERIALIZATION));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+      addServerTiming();
+      return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+      addServerTiming();
+      return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+      addServerTiming();
+      super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+      addServerTiming();
+      super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+      addServerTiming();
+      super.sendError(sc, msg);
+    }
+  }
+}
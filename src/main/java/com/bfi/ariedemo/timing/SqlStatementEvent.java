@@ -0,0 +1,27 @@
+package com.bfi.ariedemo.timing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of one JDBC statement or batch executed by Hibernate.
+ * <p>
+ * Disabled unless enabled by the recording settings, see {@code jfr/ariedemo.jfc}.
+ */
+@Name("com.bfi.ariedemo.SqlStatement")
+@Label("SQL Statement")
+@Category({"Ariedemo", "Database"})
+@Description("JDBC statement executed by Hibernate")
+@Enabled(false)
+public class SqlStatementEvent extends Event {
+
+  @Label("SQL")
+  String sql;
+
+  @Label("Batch")
+  boolean batch;
+}
@@ -0,0 +1,69 @@
+package com.bfi.ariedemo.timing;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Emits a {@link SqlStatementEvent} per JDBC statement executed by Hibernate.
+ * <p>
+ * The inspector remembers the SQL being prepared on the current thread, the {@link Listener} created for each session
+ * times its execution.
+ */
+public class SqlStatementEvents implements StatementInspector {
+
+  private static final ThreadLocal<String> LAST_SQL = new ThreadLocal<>();
+
+  @Override
+  public String inspect(String sql) {
+    LAST_SQL.set(sql);
+    return sql;
+  }
+
+  public static class Listener extends BaseSessionEventListener {
+
+    private SqlStatementEvent event;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+      start(false);
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+      stop();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+      start(true);
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+      stop();
+    }
+
+    private void start(boolean batch) {
+      EmployeeOperationEventAspect.statementExecuted();
+      SqlStatementEvent statementEvent = new SqlStatementEvent();
+      if (statementEvent.isEnabled()) {
+        statementEvent.batch = batch;
+        statementEvent.begin();
+        event = statementEvent;
+      }
+    }
+
+    private void stop() {
+      SqlStatementEvent statementEvent = event;
+      if (statementEvent == null) {
+        return;
+      }
+      event = null;
+      statementEvent.end();
+      if (statementEvent.shouldCommit()) {
+        statementEvent.sql = LAST_SQL.get();
+        statementEvent.commit();
+      }
+    }
+  }
+}
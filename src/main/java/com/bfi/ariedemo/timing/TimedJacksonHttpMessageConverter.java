@@ -0,0 +1,38 @@
+package com.bfi.ariedemo.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter recording the serialization phase of the timed requests.
+ * <p>
+ * The body is serialized straight to the response, never buffered. The serialization time is thus only known once the
+ * headers are sent: it is logged with the slow requests and sent in the {@code Server-Timing} trailer.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+  public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+    super(objectMapper);
+  }
+
+  @Override
+  protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+    throws IOException, HttpMessageNotWritableException {
+    RequestTimings timings = RequestTimings.current();
+    if (timings == null) {
+      super.writeInternal(object, type, outputMessage);
+      return;
+    }
+    timings.start(RequestTimings.Phase.SERIALIZATION);
+    try {
+      super.writeInternal(object, type, outputMessage);
+    } finally {
+      timings.stop(RequestTimings.Phase.SERIALIZATION);
+    }
+  }
+}
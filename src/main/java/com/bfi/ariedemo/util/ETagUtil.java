@@ -0,0 +1,121 @@
+package com.bfi.ariedemo.util;
+
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.exception.PreconditionFailedException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Strong entity tags of the employee representations, derived from the employee versions.
+ */
+public interface ETagUtil {
+
+  /**
+   * The entity tag of a single employee.
+   *
+   * @param version the version of the employee.
+   * @return the quoted entity tag.
+   */
+  static String of(long version) {
+    return "\"" + version + "\"";
+  }
+
+  /**
+   * The entity tag of a list of employees, a digest of their ids and versions in the order of the list.
+   *
+   * @param employees the employees of the list.
+   * @param suffix    anything else the representation depends on, such as the cursor of the next page, may be
+   *                  {@code null}.
+   * @return the quoted entity tag.
+   */
+  static String of(Collection<EmployeeDTO> employees, String suffix) {
+    return of(employees, EmployeeDTO::getId, EmployeeDTO::getVersion, suffix);
+  }
+
+  /**
+   * The entity tag of a list of employee representations, a digest of their ids and versions in the order of the list.
+   *
+   * @param employees the employees of the list.
+   * @param id        the id of an employee.
+   * @param version   the version of an employee.
+   * @param suffix    anything else the representation depends on, such as the fields or the cursor of the next page,
+   *                  may be {@code null}.
+   * @param <T>       the type of the representations.
+   * @return the quoted entity tag.
+   */
+  static <T> String of(Collection<T> employees, Function<T, String> id, Function<T, Long> version, String suffix) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("MD5");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    for (T employee : employees) {
+      digest.update(id.apply(employee).getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) ':');
+      digest.update(String.valueOf(version.apply(employee)).getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) ',');
+    }
+    if (suffix != null) {
+      digest.update(suffix.getBytes(StandardCharsets.UTF_8));
+    }
+    StringBuilder tag = new StringBuilder("\"");
+    for (byte b : digest.digest()) {
+      tag.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+    }
+    return tag.append('"').toString();
+  }
+
+  /**
+   * The version required by an {@code If-Match} header, which holds the entity tag of a single employee.
+   *
+   * @param ifMatch the header value, {@code null} when absent.
+   * @return the version, {@code null} when the header is absent or {@code *}.
+   * @throws PreconditionFailedException if the header is not the strong entity tag of a version, the precondition
+   *                                     cannot hold then.
+   */
+  static Long requiredVersion(String ifMatch) {
+    if (ifMatch == null || ifMatch.trim().equals("*")) {
+      return null;
+    }
+    String tag = ifMatch.trim();
+    if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+      try {
+        return Long.valueOf(tag.substring(1, tag.length() - 1));
+      } catch (NumberFormatException e) {
+        // not a version tag
+      }
+    }
+    throw new PreconditionFailedException("If-Match does not match the current version");
+  }
+
+  /**
+   * Whether an {@code If-None-Match} header matches an entity tag, by the weak comparison of RFC 7232.
+   *
+   * @param ifNoneMatch the header value, {@code null} when absent.
+   * @param etag        the quoted entity tag of the current representation.
+   * @return {@code true} if the client copy is current.
+   */
+  static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.equals("*")) {
+        return true;
+      }
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
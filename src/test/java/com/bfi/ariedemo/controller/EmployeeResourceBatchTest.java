@@ -0,0 +1,102 @@
+package com.bfi.ariedemo.controller;
+
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.repository.EmployeeRepository;
+import com.bfi.ariedemo.service.EmployeeService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Streaming parse, chunking and per item results of the batch endpoint, with chunks of two employees.
+ */
+@SpringBootTest(properties = "application.batch.chunk-size=2")
+@AutoConfigureMockMvc
+class EmployeeResourceBatchTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private EmployeeService employeeService;
+
+  @Autowired
+  private EmployeeRepository employeeRepository;
+
+  @Test
+  void everyItemGetsItsResult() throws Exception {
+    String id = employeeService.save(EmployeeDTO.builder().firstName("Ann").email("batch@example.com").build()).getId();
+
+    String body = batch("["
+      + "{\"id\":\"" + id + "\",\"first_name\":\"Anna\",\"email\":\"batch@example.com\"},"
+      + employee("Bob") + ","
+      + "{\"first_name\":\"Cid\"},"
+      + employee("Dee") + ","
+      + "{\"first_name\":\"Eve\",\"email\":\"batch@example.com\",\"phone_number\":\"" + "9".repeat(60) + "\"}"
+      + "]")
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data[*].index").value(contains(0, 1, 2, 3, 4)))
+      .andExpect(jsonPath("$.data[*].result").value(contains("UPDATED", "CREATED", "FAILED", "FAILED", "FAILED")))
+      .andExpect(jsonPath("$.data[2].message").value("email must not be empty"))
+      .andReturn().getResponse().getContentAsString();
+
+    // the failing item only takes its own chunk down
+    assertThat(employeeService.findOne(id).getFirstName()).isEqualTo("Anna");
+    String created = JsonPath.read(body, "$.data[1].id");
+    assertThat(employeeRepository.findById(created)).isPresent();
+    assertThat(employeeRepository.findAll()).extracting("firstName").doesNotContain("Dee", "Eve");
+  }
+
+  @Test
+  void malformedItemStopsTheBatchAndKeepsTheItemsRead() throws Exception {
+    String body = batch("[" + employee("Fay") + "," + employee("Gus") + "," + employee("Hal") + ",{\"first_name\":,"
+      + employee("Ivy") + "]")
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data[*].index").value(contains(0, 1, 2, 3)))
+      .andExpect(jsonPath("$.data[*].result").value(contains("CREATED", "CREATED", "CREATED", "FAILED")))
+      .andExpect(jsonPath("$.data[3].message").value(startsWith("Malformed batch item")))
+      .andReturn().getResponse().getContentAsString();
+
+    List<String> ids = JsonPath.read(body, "$.data[0:3].id");
+    assertThat(employeeRepository.findAllById(ids)).extracting("firstName").containsExactlyInAnyOrder("Fay", "Gus", "Hal");
+    assertThat(employeeRepository.findAll()).extracting("firstName").doesNotContain("Ivy");
+  }
+
+  @Test
+  void itemThatIsNotAnObjectStopsTheBatch() throws Exception {
+    batch("[" + employee("Jan") + ",42," + employee("Kim") + "]")
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data[*].result").value(contains("CREATED", "FAILED")))
+      .andExpect(jsonPath("$.data[1].index").value(1));
+
+    assertThat(employeeRepository.findAll()).extracting("firstName").contains("Jan").doesNotContain("Kim");
+  }
+
+  @Test
+  void bodyThatIsNotAnArrayIsRejected() throws Exception {
+    batch(employee("Lea")).andExpect(status().isBadRequest());
+    batch("nope").andExpect(status().isBadRequest());
+  }
+
+  private static String employee(String firstName) {
+    return "{\"first_name\":\"" + firstName + "\",\"email\":\"batch@example.com\"}";
+  }
+
+  private ResultActions batch(String body) throws Exception {
+    return mockMvc.perform(post("/api/employees/batch").contentType(MediaType.APPLICATION_JSON).content(body));
+  }
+}
@@ -0,0 +1,78 @@
+package com.bfi.ariedemo.controller;
+
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Validation of the set-based update endpoints.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeResourceBulkUpdateTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private EmployeeService employeeService;
+
+  @Test
+  void salariesAreAdjustedInTheRange() throws Exception {
+    String id = employeeService.save(EmployeeDTO.builder()
+      .firstName("Jane").email("bulk@example.com").salary(981000d).build()).getId();
+
+    mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/employees/_adjust-salary")
+          .contentType(MediaType.APPLICATION_JSON)
+          .content("{\"percentage\":-50,\"min_salary\":981000,\"max_salary\":981001}"))
+        .andExpect(request().asyncStarted())
+        .andReturn()))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data.affected").value(1));
+
+    assertThat(employeeService.findOne(id).getSalary()).isEqualTo(490500d);
+  }
+
+  @Test
+  void percentagesWipingOutTheSalariesAreRejected() throws Exception {
+    bulk("/api/employees/_adjust-salary", "{\"percentage\":-100}").andExpect(status().isBadRequest());
+    bulk("/api/employees/_adjust-salary", "{\"percentage\":-150,\"min_salary\":0}").andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void emptySalaryRangesAreRejected() throws Exception {
+    bulk("/api/employees/_adjust-salary", "{\"amount\":100,\"min_salary\":5000,\"max_salary\":4000}")
+      .andExpect(status().isBadRequest());
+    bulk("/api/employees/_deactivate", "{\"min_salary\":5000,\"max_salary\":5000}")
+      .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void blankIdsAreRejected() throws Exception {
+    String id = employeeService.save(EmployeeDTO.builder().firstName("Jane").email("bulk@example.com").build()).getId();
+
+    bulk("/api/employees/_deactivate", "{\"ids\":[\"" + id + "\",null]}").andExpect(status().isBadRequest());
+    bulk("/api/employees/_deactivate", "{\"ids\":[\"" + id + "\",\" \"]}").andExpect(status().isBadRequest());
+
+    assertThat(employeeService.findOne(id).isStatus()).isTrue();
+  }
+
+  private ResultActions bulk(String path, String body) throws Exception {
+    return mockMvc.perform(post(path)
+      .contentType(MediaType.APPLICATION_JSON)
+      .content(body));
+  }
+}
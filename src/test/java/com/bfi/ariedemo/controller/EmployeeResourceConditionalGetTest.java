@@ -0,0 +1,132 @@
+package com.bfi.ariedemo.controller;
+
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.service.EmployeeDtoCache;
+import com.bfi.ariedemo.service.EmployeeService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional GETs of the employees, with entity tags derived from their versions.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeResourceConditionalGetTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private EmployeeService employeeService;
+
+  @Autowired
+  private EmployeeDtoCache employeeDtoCache;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private SessionFactory sessionFactory;
+
+  private Statistics statistics;
+
+  private EmployeeDTO created;
+
+  @BeforeEach
+  void setUp() {
+    sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    statistics = sessionFactory.getStatistics();
+    created = employeeService.save(EmployeeDTO.builder()
+      .firstName("Jane").email("0000.etag@example.com").salary(7000d).build());
+  }
+
+  @Test
+  void notModifiedIsAnsweredFromTheVersionAlone() throws Exception {
+    perform(get("/api/employees/{id}", created.getId()))
+      .andExpect(status().isOk())
+      .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+      .andExpect(jsonPath("$.data.version").value(0));
+
+    statistics.clear();
+
+    perform(get("/api/employees/{id}", created.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+      .andExpect(status().isNotModified())
+      .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+      .andExpect(content().string(""));
+
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+
+    employeeDtoCache.evict(created.getId());
+    sessionFactory.getCache().evictAllRegions();
+    statistics.clear();
+
+    perform(get("/api/employees/{id}", created.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"1\", \"0\""))
+      .andExpect(status().isNotModified());
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+  }
+
+  @Test
+  void updatesChangeTheEntityTag() throws Exception {
+    created.setSalary(8000d);
+    EmployeeDTO updated = employeeService.update(created);
+    assertThat(updated.getVersion()).isEqualTo(1);
+
+    perform(get("/api/employees/{id}", created.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+      .andExpect(status().isOk())
+      .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+      .andExpect(jsonPath("$.data.salary").value(8000));
+
+    employeeService.deactivate(List.of(created.getId()));
+
+    perform(get("/api/employees/{id}", created.getId()).header(HttpHeaders.IF_NONE_MATCH, "W/\"1\""))
+      .andExpect(status().isOk())
+      .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+  }
+
+  @Test
+  void listPagesAreNotModifiedUntilOneOfTheirEmployeesChanges() throws Exception {
+    String etag = perform(get("/api/employees").param("limit", "5"))
+      .andExpect(status().isOk())
+      .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertThat(etag).isNotNull();
+
+    perform(get("/api/employees").param("limit", "5").header(HttpHeaders.IF_NONE_MATCH, etag))
+      .andExpect(status().isNotModified())
+      .andExpect(header().string(HttpHeaders.ETAG, etag))
+      .andExpect(content().string(""));
+
+    created.setLastName("Changed");
+    employeeService.update(created);
+
+    perform(get("/api/employees").param("limit", "5").header(HttpHeaders.IF_NONE_MATCH, etag))
+      .andExpect(status().isOk())
+      .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+  }
+
+  private ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+    return mockMvc.perform(asyncDispatch(mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn()));
+  }
+}
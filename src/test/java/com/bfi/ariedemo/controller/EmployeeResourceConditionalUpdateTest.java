@@ -0,0 +1,117 @@
+package com.bfi.ariedemo.controller;
+
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.repository.EmployeeRepository;
+import com.bfi.ariedemo.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Updates conditioned by {@code If-Match}, and updates racing on the same employee.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeResourceConditionalUpdateTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private EmployeeService employeeService;
+
+  @Autowired
+  private EmployeeRepository employeeRepository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private String id;
+
+  @BeforeEach
+  void setUp() {
+    id = employeeService.save(EmployeeDTO.builder().firstName("Jane").email("jane@example.com").salary(7000d).build())
+      .getId();
+  }
+
+  @Test
+  void updateFromAnOlderVersionFailsThePrecondition() throws Exception {
+    perform(put("/api/employees/{id}", id)
+        .header(HttpHeaders.IF_MATCH, "\"0\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"id\":\"" + id + "\",\"first_name\":\"Janet\",\"email\":\"jane@example.com\",\"salary\":7000}"))
+      .andExpect(status().isOk())
+      .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+      .andExpect(jsonPath("$.data.version").value(1));
+
+    perform(patch("/api/employees/{id}", id)
+        .header(HttpHeaders.IF_MATCH, "\"0\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"id\":\"" + id + "\",\"salary\":9000}"))
+      .andExpect(status().isPreconditionFailed());
+
+    assertThat(employeeService.findOne(id).getSalary()).isEqualTo(7000);
+  }
+
+  @Test
+  void weakOrMalformedEntityTagsFailThePrecondition() throws Exception {
+    for (String ifMatch : new String[]{"W/\"0\"", "0", "\"zero\""}) {
+      mockMvc.perform(patch("/api/employees/{id}", id)
+          .header(HttpHeaders.IF_MATCH, ifMatch)
+          .contentType(MediaType.APPLICATION_JSON)
+          .content("{\"id\":\"" + id + "\",\"salary\":9000}"))
+        .andExpect(status().isPreconditionFailed());
+    }
+
+    perform(patch("/api/employees/{id}", id)
+        .header(HttpHeaders.IF_MATCH, "*")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"id\":\"" + id + "\",\"salary\":9000}"))
+      .andExpect(status().isOk());
+  }
+
+  @Test
+  void updateCommittedAfterTheReadFailsTheLaterWriter() {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    TransactionTemplate concurrentTransaction = new TransactionTemplate(transactionManager);
+    concurrentTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+    assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+      // the employee is read at version 0 ...
+      employeeRepository.findById(id).orElseThrow();
+      // ... another writer commits version 1 ...
+      concurrentTransaction.executeWithoutResult(concurrent -> employeeService.partialUpdate(
+        EmployeeDTO.builder().id(id).salary(8000d).build()
+      ));
+      // ... and the update from version 0 must not overwrite it
+      employeeService.partialUpdate(EmployeeDTO.builder().id(id).salary(9000d).build());
+    })).isInstanceOf(OptimisticLockingFailureException.class);
+
+    assertThat(employeeService.findOne(id).getSalary()).isEqualTo(8000);
+  }
+
+  private ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+    return mockMvc.perform(asyncDispatch(mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn()));
+  }
+}
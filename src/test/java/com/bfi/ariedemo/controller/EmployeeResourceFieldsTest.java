@@ -0,0 +1,124 @@
+package com.bfi.ariedemo.controller;
+
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.service.EmployeeService;
+import com.jayway.jsonpath.JsonPath;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sparse fieldsets of the employee read endpoints.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeResourceFieldsTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private EmployeeService employeeService;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  private EmployeeDTO created;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    created = employeeService.save(EmployeeDTO.builder()
+      .firstName("Jane").lastName("Fields").email("fields@example.com").salary(12000d).build());
+  }
+
+  @Test
+  void listSelectsOnlyTheRequestedColumns() throws Exception {
+    statistics.clear();
+
+    String body = perform(get("/api/employees").param("fields", "email,level,id"))
+      .andExpect(status().isOk())
+      .andReturn().getResponse().getContentAsString();
+
+    List<Map<String, Object>> employees = JsonPath.read(body, "$.data");
+    assertThat(employees).allSatisfy(employee -> assertThat(employee).containsOnlyKeys("id", "email", "level"));
+    assertThat(employees).contains(Map.of("id", created.getId(), "email", "fields@example.com", "level", "Gold"));
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+  }
+
+  @Test
+  void pagesFollowTheCompleteListing() throws Exception {
+    String complete = perform(get("/api/employees").param("limit", "4"))
+      .andExpect(status().isOk())
+      .andReturn().getResponse().getContentAsString();
+    String firstPage = perform(get("/api/employees").param("fields", "id").param("limit", "2"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data", hasSize(2)))
+      .andReturn().getResponse().getContentAsString();
+    String secondPage = perform(get("/api/employees").param("fields", "id").param("limit", "2")
+        .param("after", JsonPath.<String>read(firstPage, "$.next_cursor")))
+      .andExpect(status().isOk())
+      .andReturn().getResponse().getContentAsString();
+
+    List<String> ids = JsonPath.read(complete, "$.data[*].id");
+    assertThat(JsonPath.<List<String>>read(firstPage, "$.data[*].id")).isEqualTo(ids.subList(0, 2));
+    assertThat(JsonPath.<List<String>>read(secondPage, "$.data[*].id")).isEqualTo(ids.subList(2, 4));
+  }
+
+  @Test
+  void listEntityTagsDependOnTheFields() throws Exception {
+    String complete = etag(get("/api/employees").param("limit", "2"));
+    String ids = etag(get("/api/employees").param("fields", "id").param("limit", "2"));
+    String idsAndSalaries = etag(get("/api/employees").param("fields", "id,salary").param("limit", "2"));
+
+    assertThat(ids).isNotEqualTo(complete).isNotEqualTo(idsAndSalaries);
+    assertThat(idsAndSalaries).isNotEqualTo(complete)
+      .isEqualTo(etag(get("/api/employees").param("fields", "salary, id,salary").param("limit", "2")));
+  }
+
+  @Test
+  void employeeIsServedWithTheRequestedFields() throws Exception {
+    perform(get("/api/employees/{id}", created.getId()).param("fields", "first_name,status"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data.first_name").value("Jane"))
+      .andExpect(jsonPath("$.data.status").value(true))
+      .andExpect(jsonPath("$.data.email").doesNotExist());
+  }
+
+  @Test
+  void unknownFieldIsRejected() throws Exception {
+    mockMvc.perform(get("/api/employees").param("fields", "id,password"))
+      .andExpect(status().isBadRequest());
+  }
+
+  private String etag(RequestBuilder requestBuilder) throws Exception {
+    return perform(requestBuilder).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+  }
+
+  private ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+    return mockMvc.perform(asyncDispatch(mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn()));
+  }
+}
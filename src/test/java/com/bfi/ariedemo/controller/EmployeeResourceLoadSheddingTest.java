@@ -0,0 +1,62 @@
+package com.bfi.ariedemo.controller;
+
+import com.bfi.ariedemo.config.AsyncConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that requests are rejected once the employee executor and its queue are full.
+ */
+@SpringBootTest(properties = {"application.async.pool-size=1", "application.async.queue-capacity=0"})
+@AutoConfigureMockMvc
+class EmployeeResourceLoadSheddingTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  @Qualifier(AsyncConfiguration.EMPLOYEE_TASK_EXECUTOR)
+  private ThreadPoolTaskExecutor taskExecutor;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Test
+  void requestIsRejectedWhenExecutorIsSaturated() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    taskExecutor.execute(() -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    started.await();
+    try {
+      mockMvc.perform(get("/api/employees/{id}", "any"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+        .andExpect(jsonPath("$.status").value("SERVICE_UNAVAILABLE"));
+    } finally {
+      release.countDown();
+    }
+    assertThat(meterRegistry.get("employee.executor.rejected").functionCounter().count()).isEqualTo(1);
+  }
+}
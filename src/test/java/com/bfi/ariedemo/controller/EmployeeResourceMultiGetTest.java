@@ -0,0 +1,112 @@
+package com.bfi.ariedemo.controller;
+
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.service.EmployeeDtoCache;
+import com.bfi.ariedemo.service.EmployeeService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the order and the JDBC statements of the multi-get endpoint.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeResourceMultiGetTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private EmployeeService employeeService;
+
+  @Autowired
+  private EmployeeDtoCache employeeDtoCache;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private SessionFactory sessionFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    statistics = sessionFactory.getStatistics();
+  }
+
+  @Test
+  void idsAreResolvedInOrderWithOneQuery() throws Exception {
+    String first = save("Ann");
+    String second = save("Bob");
+    employeeDtoCache.evictAll();
+    sessionFactory.getCache().evictAllRegions();
+    statistics.clear();
+
+    String body = "{\"ids\":[\"" + second + "\",\"unknown\",\"" + first + "\",\"" + second + "\"]}";
+    mget(body)
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data[*].id").value(contains(second, "unknown", first, second)))
+      .andExpect(jsonPath("$.data[*].found").value(contains(true, false, true, true)))
+      .andExpect(jsonPath("$.data[*].employee.first_name").value(contains("Bob", "Ann", "Bob")));
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+    statistics.clear();
+    mget(body).andExpect(status().isOk());
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void cachedEmployeesAreNotQueried() throws Exception {
+    String id = save("Cid");
+    employeeService.findOne(id);
+    statistics.clear();
+
+    mget("{\"ids\":[\"" + id + "\"]}")
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data[0].employee.first_name").value("Cid"));
+
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void missingIdsAreRejected() throws Exception {
+    mockMvc.perform(post("/api/employees/_mget").contentType(MediaType.APPLICATION_JSON).content("{}"))
+      .andExpect(status().isBadRequest());
+    mockMvc.perform(post("/api/employees/_mget").contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[\" \"]}"))
+      .andExpect(status().isBadRequest());
+  }
+
+  private String save(String firstName) {
+    return employeeService.save(EmployeeDTO.builder().firstName(firstName).email("mget@example.com").salary(5000d).build())
+      .getId();
+  }
+
+  private ResultActions mget(String body) throws Exception {
+    return mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/employees/_mget")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(body))
+      .andExpect(request().asyncStarted())
+      .andReturn()));
+  }
+}
@@ -0,0 +1,115 @@
+package com.bfi.ariedemo.controller;
+
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.service.EmployeeService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the JDBC statements issued by the PUT and PATCH endpoints.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeResourceStatementCountTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private EmployeeService employeeService;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private SessionFactory sessionFactory;
+
+  private Statistics statistics;
+
+  private String id;
+
+  @BeforeEach
+  void setUp() {
+    sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    statistics = sessionFactory.getStatistics();
+    id = employeeService.save(EmployeeDTO.builder().firstName("Jane").email("jane@example.com").salary(7000d).build())
+      .getId();
+  }
+
+  @Test
+  void patchIssuesOneSelectAndOneUpdate() throws Exception {
+    sessionFactory.getCache().evictAllRegions();
+    statistics.clear();
+
+    perform(patch("/api/employees/{id}", id)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"id\":\"" + id + "\",\"salary\":12000,\"status\":true}"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data.level").value("Gold"));
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+  }
+
+  @Test
+  void putOnCachedEmployeeIssuesOnlyTheUpdate() throws Exception {
+    statistics.clear();
+
+    perform(put("/api/employees/{id}", id)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"id\":\"" + id + "\",\"first_name\":\"Janet\",\"email\":\"jane@example.com\",\"salary\":7000}"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data.first_name").value("Janet"));
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+  }
+
+  @Test
+  void unchangedPatchIssuesNoUpdate() throws Exception {
+    statistics.clear();
+
+    perform(patch("/api/employees/{id}", id)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"id\":\"" + id + "\",\"salary\":7000,\"status\":true}"))
+      .andExpect(status().isOk());
+
+    assertThat(statistics.getEntityUpdateCount()).isZero();
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void updateOfUnknownEmployeeIsRejected() throws Exception {
+    statistics.clear();
+
+    perform(patch("/api/employees/{id}", "unknown")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"id\":\"unknown\",\"salary\":1}"))
+      .andExpect(status().isBadRequest())
+      .andExpect(jsonPath("$.message").value("Entity not found"));
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  private ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+    return mockMvc.perform(asyncDispatch(mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn()));
+  }
+}
@@ -0,0 +1,84 @@
+package com.bfi.ariedemo.controller;
+
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Reads over R2DBC the employees written through JPA.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReactiveEmployeeResourceTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private EmployeeService employeeService;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  private String id;
+
+  @BeforeEach
+  void setUp() {
+    id = employeeService.save(EmployeeDTO.builder().firstName("Jane").email("jane@example.com").salary(7000d).build())
+      .getId();
+  }
+
+  @Test
+  void getEmployeeReadsTheJpaRow() throws Exception {
+    perform(get("/api/reactive/employees/{id}", id))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data.id").value(id))
+      .andExpect(jsonPath("$.data.first_name").value("Jane"))
+      .andExpect(jsonPath("$.data.level").value("Silver"));
+  }
+
+  @Test
+  void getUnknownEmployeeIsRejected() throws Exception {
+    perform(get("/api/reactive/employees/{id}", "unknown"))
+      .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void getAllEmployeesStreamsNewlineDelimitedJson() throws Exception {
+    perform(get("/api/reactive/employees").accept(MediaType.APPLICATION_NDJSON))
+      .andExpect(status().isOk())
+      .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+      .andExpect(content().string(containsString("\"id\":\"" + id + "\"")));
+  }
+
+  @Test
+  void releasedConnectionsStayInThePool() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      perform(get("/api/reactive/employees/{id}", id)).andExpect(status().isOk());
+    }
+
+    assertThat(meterRegistry.get("r2dbc.pool.idle").gauge().value()).isPositive();
+  }
+
+  private ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+    return mockMvc.perform(asyncDispatch(mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn()));
+  }
+}
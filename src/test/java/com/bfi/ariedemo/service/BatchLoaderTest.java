@@ -0,0 +1,94 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.exception.BadRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchLoaderTest {
+
+  private static final int CALLERS = 8;
+
+  private static final long LONG_WINDOW = TimeUnit.SECONDS.toNanos(30);
+
+  private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+
+  private final List<Set<String>> batches = new CopyOnWriteArrayList<>();
+
+  @AfterEach
+  void tearDown() {
+    callers.shutdownNow();
+  }
+
+  @Test
+  void fullBatchIsLoadedWithoutWaitingForTheWindow() throws Exception {
+    AtomicInteger joined = new AtomicInteger();
+    BatchLoader<String, String> batchLoader = new BatchLoader<>(keys -> {
+      batches.add(Set.copyOf(keys));
+      return keys.stream().filter(key -> !key.equals("k0")).collect(Collectors.toMap(Function.identity(), String::toUpperCase));
+    }, LONG_WINDOW, CALLERS, joined::incrementAndGet);
+
+    List<Future<String>> results = loadConcurrently(batchLoader);
+
+    assertThat(results.get(0).get(10, TimeUnit.SECONDS)).isNull();
+    for (int i = 1; i < CALLERS; i++) {
+      assertThat(results.get(i).get(10, TimeUnit.SECONDS)).isEqualTo("K" + i);
+    }
+    assertThat(batches).hasSize(1);
+    assertThat(batchLoader.batches()).isEqualTo(1);
+    assertThat(batchLoader.keys()).isEqualTo(CALLERS);
+    assertThat(joined).hasValue(CALLERS - 1);
+  }
+
+  @Test
+  void batchIsLoadedAtTheEndOfTheWindow() {
+    BatchLoader<String, String> batchLoader = new BatchLoader<>(keys -> {
+      batches.add(Set.copyOf(keys));
+      return Map.of("a", "A");
+    }, TimeUnit.MILLISECONDS.toNanos(1), CALLERS);
+
+    assertThat(batchLoader.load("a")).isEqualTo("A");
+    assertThat(batchLoader.load("a")).isEqualTo("A");
+    assertThat(batches).containsExactly(Set.of("a"), Set.of("a"));
+  }
+
+  @Test
+  void everyCallerOfTheBatchGetsTheException() throws Exception {
+    BatchLoader<String, String> batchLoader = new BatchLoader<>(keys -> {
+      batches.add(Set.copyOf(keys));
+      throw new BadRequestException("Not Found");
+    }, LONG_WINDOW, CALLERS);
+
+    for (Future<String> result : loadConcurrently(batchLoader)) {
+      assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(BadRequestException.class);
+    }
+    assertThat(batches).hasSize(1);
+  }
+
+  private List<Future<String>> loadConcurrently(BatchLoader<String, String> batchLoader) {
+    List<Future<String>> results = new ArrayList<>();
+    for (int i = 0; i < CALLERS; i++) {
+      String key = "k" + i;
+      results.add(callers.submit(() -> batchLoader.load(key)));
+    }
+    return results;
+  }
+}
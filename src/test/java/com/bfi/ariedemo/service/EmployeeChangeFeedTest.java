@@ -0,0 +1,208 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.config.ApplicationProperties;
+import com.bfi.ariedemo.dto.EmployeeChangeDTO;
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeChangeFeedTest {
+
+  private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+  private EmployeeChangeFeed feed;
+
+  @BeforeEach
+  void setUp() {
+    ApplicationProperties properties = new ApplicationProperties();
+    properties.getChanges().setHistorySize(4);
+    properties.getChanges().setSubscriberBufferSize(2);
+    properties.getChanges().setMaxSubscribers(2);
+    feed = new EmployeeChangeFeed(properties, tasks::add);
+  }
+
+  @Test
+  void sendsTheChangesCommittedSinceTheSubscription() {
+    change("1");
+    RecordingEmitter emitter = subscribe(null);
+    change("2");
+    feed.onEmployeesBulkChanged(new EmployeesBulkChangedEvent(EmployeesBulkChangedEvent.Type.DEACTIVATED, Set.of("3"), 1));
+    runTasks();
+
+    assertThat(emitter.names).containsExactly(EmployeeChangeFeed.CHANGE_EVENT, EmployeeChangeFeed.CHANGE_EVENT);
+    assertThat(emitter.changes).extracting(EmployeeChangeDTO::getType).containsExactly("UPDATED", "DEACTIVATED");
+    assertThat(emitter.changes.get(0).getEmployee().getId()).isEqualTo("2");
+    assertThat(emitter.changes.get(1).getIds()).containsExactly("3");
+  }
+
+  @Test
+  void resumesAfterTheLastEventId() {
+    RecordingEmitter first = subscribe(null);
+    change("1");
+    runTasks();
+    first.complete();
+    change("2");
+    change("3");
+
+    RecordingEmitter resumed = subscribe(first.ids.get(0));
+    runTasks();
+
+    assertThat(resumed.changes).extracting(change -> change.getEmployee().getId()).containsExactly("2", "3");
+  }
+
+  @Test
+  void resetsUnknownOrForgottenEvents() {
+    RecordingEmitter first = subscribe(null);
+    change("1");
+    runTasks();
+    first.complete();
+    for (int i = 0; i < 5; i++) {
+      change("other" + i);
+    }
+
+    RecordingEmitter forgotten = subscribe(first.ids.get(0));
+    RecordingEmitter foreign = subscribe("0-1");
+    runTasks();
+
+    assertThat(forgotten.names).containsExactly(EmployeeChangeFeed.RESET_EVENT);
+    assertThat(foreign.names).containsExactly(EmployeeChangeFeed.RESET_EVENT);
+    assertThat(foreign.changes.get(0).getSequence()).isEqualTo(6);
+  }
+
+  @Test
+  void disconnectsSubscribersFallingBehind() {
+    RecordingEmitter emitter = subscribe(null);
+    change("1");
+    change("2");
+    change("3");
+    runTasks();
+
+    assertThat(emitter.completed).isTrue();
+    assertThat(emitter.changes).isEmpty();
+    assertThat(feed.subscriberCount()).isZero();
+  }
+
+  @Test
+  void sendsHeartbeatsToIdleSubscribers() {
+    RecordingEmitter emitter = subscribe(null);
+    feed.heartbeat();
+    runTasks();
+
+    assertThat(emitter.heartbeats).isEqualTo(1);
+    assertThat(emitter.names).isEmpty();
+  }
+
+  @Test
+  void rejectsSubscribersBeyondTheLimit() {
+    subscribe(null);
+    subscribe(null);
+
+    assertThatThrownBy(() -> subscribe(null)).isInstanceOf(TaskRejectedException.class);
+  }
+
+  @Test
+  void concurrentSubscribersStayWithinTheLimit() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Boolean>> subscriptions = new ArrayList<>();
+    try {
+      for (int i = 0; i < 8; i++) {
+        subscriptions.add(executor.submit(() -> {
+          start.await();
+          try {
+            subscribe(null);
+            return true;
+          } catch (TaskRejectedException e) {
+            return false;
+          }
+        }));
+      }
+      start.countDown();
+      int accepted = 0;
+      for (Future<Boolean> subscription : subscriptions) {
+        accepted += subscription.get(10, TimeUnit.SECONDS) ? 1 : 0;
+      }
+
+      assertThat(accepted).isEqualTo(2);
+      assertThat(feed.subscriberCount()).isEqualTo(2);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private RecordingEmitter subscribe(String lastEventId) {
+    RecordingEmitter emitter = new RecordingEmitter();
+    feed.subscribe(emitter, lastEventId);
+    return emitter;
+  }
+
+  private void change(String id) {
+    feed.onEmployeeChanged(new EmployeeChangedEvent(
+      EmployeeChangedEvent.Type.UPDATED, id, EmployeeDTO.builder().id(id).build()
+    ));
+  }
+
+  private void runTasks() {
+    Runnable task;
+    while ((task = tasks.poll()) != null) {
+      task.run();
+    }
+  }
+
+  /**
+   * Records the events instead of writing them to a response.
+   */
+  private static final class RecordingEmitter extends SseEmitter {
+
+    private final List<String> ids = new ArrayList<>();
+
+    private final List<String> names = new ArrayList<>();
+
+    private final List<EmployeeChangeDTO> changes = new ArrayList<>();
+
+    private int heartbeats;
+
+    private boolean completed;
+
+    @Override
+    public void send(SseEventBuilder builder) {
+      builder.build().forEach(part -> {
+        if (part.getData() instanceof EmployeeChangeDTO) {
+          changes.add((EmployeeChangeDTO) part.getData());
+        } else {
+          for (String line : part.getData().toString().split("\n")) {
+            if (line.startsWith("id:")) {
+              ids.add(line.substring(3));
+            } else if (line.startsWith("event:")) {
+              names.add(line.substring(6));
+            } else if (line.equals(":")) {
+              heartbeats++;
+            }
+          }
+        }
+      });
+    }
+
+    @Override
+    public void complete() {
+      completed = true;
+      super.complete();
+    }
+  }
+}
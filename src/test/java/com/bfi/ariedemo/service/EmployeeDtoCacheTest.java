@@ -0,0 +1,105 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class EmployeeDtoCacheTest {
+
+  private static final int READERS = 8;
+
+  private static final int WRITES = 200;
+
+  @Autowired
+  private EmployeeService employeeService;
+
+  @Autowired
+  private EmployeeDtoCache employeeDtoCache;
+
+  @Test
+  void findOneIsServedFromCache() {
+    EmployeeDTO created = employeeService.save(employee(1000d));
+    long hits = employeeDtoCache.stats().hitCount();
+
+    EmployeeDTO first = employeeService.findOne(created.getId());
+    EmployeeDTO second = employeeService.findOne(created.getId());
+
+    assertThat(second).isSameAs(first);
+    assertThat(employeeDtoCache.stats().hitCount()).isEqualTo(hits + 1);
+  }
+
+  @Test
+  void noStaleReadAfterCommittedWrite() throws Exception {
+    EmployeeDTO created = employeeService.save(employee(0d));
+    String id = created.getId();
+    AtomicBoolean writing = new AtomicBoolean(true);
+    CountDownLatch started = new CountDownLatch(READERS);
+    ExecutorService readers = Executors.newFixedThreadPool(READERS);
+    List<Future<Long>> reads = new ArrayList<>();
+    for (int i = 0; i < READERS; i++) {
+      reads.add(readers.submit(() -> {
+        long count = 0;
+        started.countDown();
+        while (writing.get()) {
+          employeeService.findOne(id);
+          count++;
+        }
+        return count;
+      }));
+    }
+    started.await();
+
+    try {
+      for (int i = 1; i <= WRITES; i++) {
+        double salary = i;
+        if (i % 2 == 0) {
+          created.setSalary(salary);
+          employeeService.update(created);
+        } else {
+          employeeService.partialUpdate(EmployeeDTO.builder().id(id).salary(salary).status(true).build());
+        }
+        assertThat(employeeService.findOne(id).getSalary()).as("read after write %d", i).isEqualTo(salary);
+      }
+    } finally {
+      writing.set(false);
+      readers.shutdown();
+      assertThat(readers.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    }
+    for (Future<Long> read : reads) {
+      assertThat(read.get()).isPositive();
+    }
+    assertThat(employeeService.findOne(id).getSalary()).isEqualTo(WRITES);
+  }
+
+  @Test
+  void deleteEvictsCachedEmployee() {
+    EmployeeDTO created = employeeService.save(employee(2000d));
+    assertThat(employeeService.findOne(created.getId()).isStatus()).isTrue();
+
+    employeeService.delete(created.getId());
+
+    assertThat(employeeService.findOne(created.getId()).isStatus()).isFalse();
+  }
+
+  private static EmployeeDTO employee(double salary) {
+    return EmployeeDTO.builder()
+      .firstName("John")
+      .lastName("Doe")
+      .email("john.doe@example.com")
+      .salary(salary)
+      .build();
+  }
+}
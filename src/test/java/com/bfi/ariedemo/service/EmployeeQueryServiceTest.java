@@ -0,0 +1,171 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.domain.Employee;
+import com.bfi.ariedemo.domain.EmployeeLevel;
+import com.bfi.ariedemo.dto.EmployeeCriteria;
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Filters of the criteria query and the plans of their SQL.
+ */
+@SpringBootTest
+class EmployeeQueryServiceTest {
+
+  @Autowired
+  private EmployeeQueryService employeeQueryService;
+
+  @Autowired
+  private EmployeeService employeeService;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private DataSource dataSource;
+
+  private String lastName;
+
+  @BeforeEach
+  void setUp() {
+    lastName = "Query" + UUID.randomUUID().toString().substring(0, 8);
+    save("Ann", 3000d);
+    save("Bob", 7000d);
+    save("Cid", 12000d);
+    save("Dee", 20000d);
+    save("A%n", 9000d);
+  }
+
+  @Test
+  void levelsAreSalaryRanges() {
+    assertThat(firstNames(EmployeeCriteria.builder().lastNamePrefix(lastName)
+      .levels(EnumSet.of(EmployeeLevel.GOLD)).build())).containsExactly("Cid");
+    assertThat(firstNames(EmployeeCriteria.builder().lastNamePrefix(lastName)
+      .levels(EnumSet.of(EmployeeLevel.BRONZE, EmployeeLevel.PLATINUM)).build())).containsExactly("Ann", "Dee");
+    assertThat(firstNames(EmployeeCriteria.builder().lastNamePrefix(lastName)
+      .levels(EnumSet.of(EmployeeLevel.SILVER, EmployeeLevel.GOLD)).minSalary(8000d).build()))
+      .containsExactly("A%n", "Cid");
+  }
+
+  @Test
+  void adjacentLevelsAreMerged() {
+    List<Double[]> ranges = EmployeeQueryService.salaryRanges(
+      EnumSet.of(EmployeeLevel.BRONZE, EmployeeLevel.SILVER, EmployeeLevel.PLATINUM)
+    );
+
+    assertThat(ranges).hasSize(2);
+    assertThat(ranges.get(0)).containsExactly(null, 10000d);
+    assertThat(ranges.get(1)).containsExactly(15000d, null);
+    assertThat(EmployeeQueryService.salaryRanges(EnumSet.allOf(EmployeeLevel.class)).get(0))
+      .containsExactly(null, null);
+  }
+
+  @Test
+  void prefixesAreEscaped() {
+    assertThat(firstNames(EmployeeCriteria.builder().lastNamePrefix(lastName).firstNamePrefix("A%").build()))
+      .containsExactly("A%n");
+    assertThat(firstNames(EmployeeCriteria.builder().lastNamePrefix(lastName).firstNamePrefix("A").build()))
+      .containsExactly("A%n", "Ann");
+    assertThat(firstNames(EmployeeCriteria.builder().lastNamePrefix("Query_").build())).isEmpty();
+  }
+
+  @Test
+  void pagesAreSorted() {
+    Page<EmployeeDTO> page = employeeQueryService.findByCriteria(
+      EmployeeCriteria.builder().lastNamePrefix(lastName).build(),
+      PageRequest.of(1, 2, Sort.by(Sort.Order.desc("salary"), Sort.Order.asc("id")))
+    );
+
+    assertThat(page.getTotalElements()).isEqualTo(5);
+    assertThat(page.getContent()).extracting(EmployeeDTO::getFirstName).containsExactly("A%n", "Bob");
+  }
+
+  @Test
+  void salaryFiltersUseTheStatusSalaryIndex() throws SQLException {
+    String sql = sql(EmployeeCriteria.builder().levels(EnumSet.of(EmployeeLevel.SILVER, EmployeeLevel.GOLD)).build());
+
+    // the numeric literals are inlined by Hibernate, both bounds of the merged range are index conditions
+    assertThat(explain(sql, true, 100))
+      .containsPattern("IDX_EMPLOYEE_STATUS_SALARY: SALARY < [^/]+STATUS = \\?1[^/]+SALARY >= [^/]+\\*/");
+  }
+
+  @Test
+  void namePrefixesUseTheStatusNameIndexes() throws SQLException {
+    String sql = sql(EmployeeCriteria.builder().lastNamePrefix(lastName).build());
+
+    // H2 only turns a bound LIKE prefix into an index range
+    assertThat(explain(sql, true, lastName + "%", "\\", 100))
+      .contains("IDX_EMPLOYEE_STATUS_LAST_NAME")
+      .contains("LAST_NAME >= '" + lastName + "'");
+  }
+
+  private List<String> firstNames(EmployeeCriteria criteria) {
+    return employeeQueryService.findByCriteria(criteria, PageRequest.of(0, 100, Sort.by("firstName")))
+      .map(EmployeeDTO::getFirstName).getContent();
+  }
+
+  private void save(String firstName, Double salary) {
+    employeeService.save(EmployeeDTO.builder()
+      .firstName(firstName).lastName(lastName).email(firstName + "@" + lastName + ".example.com").salary(salary)
+      .build());
+  }
+
+  /**
+   * Run the specification of the criteria on a session of its own, capturing the SQL generated by Hibernate.
+   */
+  private String sql(EmployeeCriteria criteria) {
+    List<String> statements = new ArrayList<>();
+    try (Session session = entityManagerFactory.unwrap(SessionFactory.class).withOptions()
+      .statementInspector(sql -> {
+        statements.add(sql);
+        return sql;
+      })
+      .openSession()) {
+      CriteriaBuilder cb = session.getCriteriaBuilder();
+      CriteriaQuery<Employee> query = cb.createQuery(Employee.class);
+      Root<Employee> root = query.from(Employee.class);
+      query.where(employeeQueryService.createSpecification(criteria).toPredicate(root, query, cb))
+        .orderBy(cb.asc(root.get("id")));
+      session.createQuery(query).setMaxResults(100).getResultList();
+    }
+    assertThat(statements).hasSize(1);
+    return statements.get(0);
+  }
+
+  private String explain(String sql, Object... parameters) throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+         PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+      for (int i = 0; i < parameters.length; i++) {
+        statement.setObject(i + 1, parameters[i]);
+      }
+      try (ResultSet plan = statement.executeQuery()) {
+        plan.next();
+        return plan.getString(1);
+      }
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.domain.EmployeeLevel;
+import com.bfi.ariedemo.dto.EmployeeSalaryDTO;
+import com.bfi.ariedemo.dto.SalaryBucketDTO;
+import com.bfi.ariedemo.dto.SalaryPercentileDTO;
+import com.bfi.ariedemo.dto.SalaryRangeDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeSalaryIndexTest {
+
+  private final EmployeeSalaryIndex index = new EmployeeSalaryIndex();
+
+  @Test
+  void rangesAreSortedBySalaryAcrossStatuses() {
+    index.put("1", 7000d, true);
+    index.put("2", 3000d, false);
+    index.put("3", 12000d, true);
+    index.put("4", 5000d, true);
+    index.put("5", null, true);
+
+    SalaryRangeDTO range = index.range(null, 3000d, 12000d, 10);
+    assertThat(range.getCount()).isEqualTo(3);
+    assertThat(range.getEmployees()).extracting(EmployeeSalaryDTO::getId).containsExactly("2", "4", "1");
+    assertThat(range.getEmployees()).extracting(EmployeeSalaryDTO::isStatus).containsExactly(false, true, true);
+
+    assertThat(index.range(true, null, null, 2).getCount()).isEqualTo(3);
+    assertThat(index.range(true, null, null, 2).getEmployees()).extracting(EmployeeSalaryDTO::getId)
+      .containsExactly("4", "1");
+    assertThat(index.count(false, 5000d, null)).isZero();
+  }
+
+  @Test
+  void invertedRangesAreEmpty() {
+    for (int i = 1; i <= 10; i++) {
+      index.put(String.valueOf(i), i * 1000d, i % 2 == 0);
+    }
+
+    SalaryRangeDTO range = index.range(null, 8000d, 2000d, 10);
+    assertThat(range.getCount()).isZero();
+    assertThat(range.getEmployees()).isEmpty();
+    assertThat(index.range(true, 8000d, 2000d, 10).getCount()).isZero();
+    assertThat(index.count(null, 8000d, 2000d)).isZero();
+  }
+
+  @Test
+  void levelsMatchTheEmployeeLevelThresholds() {
+    double[] salaries = {0, 4999.99, 5000, 9999.99, 10000, 14999.99, 15000, 1e9};
+    for (int i = 0; i < salaries.length; i++) {
+      index.put(String.valueOf(i), salaries[i], true);
+    }
+    index.put("none", null, true);
+
+    List<SalaryBucketDTO> levels = index.levels(true);
+    for (EmployeeLevel level : EmployeeLevel.values()) {
+      long expected = 0;
+      for (double salary : salaries) {
+        expected += EmployeeLevel.of(salary) == level ? 1 : 0;
+      }
+      assertThat(levels.get(level.ordinal()).getLevel()).isEqualTo(level.getLabel());
+      assertThat(levels.get(level.ordinal()).getCount()).isEqualTo(expected);
+    }
+    assertThat(levels).hasSize(EmployeeLevel.values().length + 1);
+    assertThat(levels.get(levels.size() - 1).getLevel()).isNull();
+    assertThat(levels.get(levels.size() - 1).getCount()).isEqualTo(1);
+    assertThat(index.levels(false)).extracting(SalaryBucketDTO::getCount).containsOnly(0L);
+  }
+
+  @Test
+  void percentilesUseTheNearestRank() {
+    for (int i = 1; i <= 100; i++) {
+      index.put(String.valueOf(i), i * 100d, i % 2 == 0);
+    }
+
+    assertThat(index.percentiles(null, 1, 50, 90, 100)).extracting(SalaryPercentileDTO::getSalary)
+      .containsExactly(100d, 5000d, 9000d, 10000d);
+    assertThat(index.percentiles(true, 50)).extracting(SalaryPercentileDTO::getSalary).containsExactly(5000d);
+    assertThat(new EmployeeSalaryIndex().percentiles(null, 50)).extracting(SalaryPercentileDTO::getSalary)
+      .containsExactly((Double) null);
+  }
+
+  @Test
+  void histogramBucketsIncludeTheHighestSalary() {
+    index.put("1", 1000d, true);
+    index.put("2", 1500d, true);
+    index.put("3", 2600d, true);
+    index.put("4", 3000d, true);
+
+    List<SalaryBucketDTO> buckets = index.histogram(true, null, null, 4);
+    assertThat(buckets).extracting(SalaryBucketDTO::getMinSalary).containsExactly(1000d, 1500d, 2000d, 2500d);
+    assertThat(buckets).extracting(SalaryBucketDTO::getCount).containsExactly(1L, 1L, 0L, 2L);
+    assertThat(index.histogram(true, 0d, 1500d, 2)).extracting(SalaryBucketDTO::getCount).containsExactly(0L, 2L);
+    assertThat(index.histogram(false, null, null, 4)).isEmpty();
+  }
+
+  @Test
+  void updatesMoveTheEmployees() {
+    index.put("1", 1000d, true);
+    index.put("2", 2000d, true);
+    assertThat(index.count(true, null, null)).isEqualTo(2);
+
+    index.put("1", 3000d, true);
+    index.setStatus("2", false);
+    index.setStatus("unknown", false);
+
+    assertThat(index.range(null, null, null, 10).getEmployees())
+      .containsExactly(new EmployeeSalaryDTO("2", 2000d, false), new EmployeeSalaryDTO("1", 3000d, true));
+
+    index.put("1", null, true);
+
+    assertThat(index.count(null, null, null)).isEqualTo(1);
+    assertThat(index.levels(true).get(EmployeeLevel.values().length).getCount()).isEqualTo(1);
+
+    index.put("1", 500d, false);
+
+    assertThat(index.range(false, null, null, 10).getEmployees()).extracting(EmployeeSalaryDTO::getId)
+      .containsExactly("1", "2");
+    assertThat(index.levels(true)).hasSize(EmployeeLevel.values().length);
+  }
+
+  @Test
+  void rowsReadBeforeAChangeDoNotOverwriteIt() {
+    long since = index.sequence();
+    index.put("1", 9000d, true);
+
+    index.putIfUnchangedSince("1", 1000d, true, since);
+    index.putIfUnchangedSince("2", 2000d, true, since);
+
+    assertThat(index.range(true, null, null, 10).getEmployees())
+      .containsExactly(new EmployeeSalaryDTO("2", 2000d, true), new EmployeeSalaryDTO("1", 9000d, true));
+  }
+}
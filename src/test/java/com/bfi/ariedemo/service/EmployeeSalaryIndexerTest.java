@@ -0,0 +1,50 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.dto.EmployeeSalaryDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class EmployeeSalaryIndexerTest {
+
+  @Autowired
+  private EmployeeService employeeService;
+
+  @Autowired
+  private EmployeeSalaryIndexer employeeSalaryIndexer;
+
+  @Test
+  void committedChangesAreInTheSalaryRanges() {
+    EmployeeDTO created = employeeService.save(EmployeeDTO.builder()
+      .firstName("Jane").email("jane@example.com").salary(971001d).build());
+
+    assertThat(employeeService.findBySalaryRange(true, 971000d, 972000d, 10).getEmployees())
+      .containsExactly(new EmployeeSalaryDTO(created.getId(), 971001d, true));
+
+    created.setSalary(971002d);
+    employeeService.update(created);
+    employeeService.deactivate(List.of(created.getId()));
+
+    assertThat(employeeService.findBySalaryRange(true, 971000d, 972000d, 10).getCount()).isZero();
+    assertThat(employeeService.findBySalaryRange(false, 971000d, 972000d, 10).getEmployees())
+      .containsExactly(new EmployeeSalaryDTO(created.getId(), 971002d, false));
+  }
+
+  @Test
+  void fillReadsTheSalariesAdjustedBySetBasedUpdates() {
+    EmployeeDTO created = employeeService.save(EmployeeDTO.builder()
+      .firstName("John").email("john@example.com").salary(973000d).build());
+
+    employeeService.adjustSalaries(null, 500d, 973000d, 973001d);
+    employeeSalaryIndexer.fill();
+
+    assertThat(employeeService.findBySalaryRange(null, 973000d, 974000d, 10).getEmployees())
+      .containsExactly(new EmployeeSalaryDTO(created.getId(), 973500d, true));
+  }
+}
@@ -0,0 +1,71 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.dto.EmployeeSearchHitDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeSearchIndexTest {
+
+  private final EmployeeSearchIndex index = new EmployeeSearchIndex();
+
+  @Test
+  void exactWordsRankBeforeShorterCompletionsAndNamesBeforeEmails() {
+    index.put(hit("1", "Jonathan", "Smith", "jon@example.com", true));
+    index.put(hit("2", "Jon", "Smith", "j.smith@example.com", true));
+    index.put(hit("3", "Anna", "Jones", "anna@example.com", true));
+    index.put(hit("4", "Joni", "Smith", "joni@example.com", true));
+
+    assertThat(ids(index.search("jon", true, 10))).containsExactly("2", "1", "4", "3");
+    assertThat(ids(index.search("JON", true, 2))).containsExactly("2", "1");
+  }
+
+  @Test
+  void everyWordOfTheQueryMustMatchIgnoringAccents() {
+    index.put(hit("1", "Zoë", "Müller", "zoe.muller@example.com", true));
+    index.put(hit("2", "Zoe", "Martin", "zoe.martin@example.com", true));
+
+    assertThat(ids(index.search("zoe mül", true, 10))).containsExactly("1");
+    assertThat(ids(index.search("mart, z", true, 10))).containsExactly("2");
+    assertThat(index.search("example", true, 10)).isEmpty();
+    assertThat(index.search(" - ", true, 10)).isEmpty();
+  }
+
+  @Test
+  void updatesReplaceTheWordsAndStatus() {
+    index.put(hit("1", "Jane", "Doe", "jane@example.com", true));
+    index.put(hit("1", "Janet", "Roe", "janet@example.com", true));
+
+    assertThat(index.search("doe", true, 10)).isEmpty();
+    assertThat(index.search("roe", true, 10)).extracting(EmployeeSearchHitDTO::getFirstName).containsExactly("Janet");
+
+    index.setStatus("1", false);
+
+    assertThat(index.search("roe", true, 10)).isEmpty();
+    assertThat(ids(index.search("roe", false, 10))).containsExactly("1");
+    assertThat(ids(index.search("roe", null, 10))).containsExactly("1");
+    assertThat(index.size()).isEqualTo(1);
+  }
+
+  @Test
+  void rowsReadBeforeAChangeDoNotOverwriteIt() {
+    long since = index.sequence();
+    index.put(hit("1", "Jane", "Roe", "jane@example.com", true));
+
+    assertThat(index.putIfUnchangedSince(hit("1", "Jane", "Doe", "jane@example.com", true), since)).isFalse();
+    assertThat(index.putIfUnchangedSince(hit("2", "John", "Doe", "john@example.com", true), since)).isTrue();
+
+    assertThat(ids(index.search("doe", true, 10))).containsExactly("2");
+  }
+
+  private static EmployeeSearchHitDTO hit(String id, String firstName, String lastName, String email, boolean status) {
+    return new EmployeeSearchHitDTO(id, firstName, lastName, email, status);
+  }
+
+  private static List<String> ids(List<EmployeeSearchHitDTO> hits) {
+    return hits.stream().map(EmployeeSearchHitDTO::getId).collect(Collectors.toList());
+  }
+}
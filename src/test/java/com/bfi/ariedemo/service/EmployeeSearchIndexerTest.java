@@ -0,0 +1,77 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.dto.EmployeeSearchHitDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class EmployeeSearchIndexerTest {
+
+  @Autowired
+  private EmployeeService employeeService;
+
+  @Autowired
+  private EmployeeSearchIndexer employeeSearchIndexer;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void committedChangesAreSearchable() {
+    String name = uniqueName();
+    EmployeeDTO created = employeeService.save(EmployeeDTO.builder()
+      .firstName("Jane").lastName(name).email("jane@example.com").salary(7000d).build());
+
+    assertThat(employeeService.search(name, true, 10)).extracting(EmployeeSearchHitDTO::getId)
+      .containsExactly(created.getId());
+
+    created.setLastName("Renamed" + name);
+    employeeService.update(created);
+
+    assertThat(employeeService.search(name, true, 10)).isEmpty();
+    assertThat(employeeService.search("renamed" + name, true, 10)).hasSize(1);
+
+    employeeService.delete(created.getId());
+
+    assertThat(employeeService.search("renamed" + name, true, 10)).isEmpty();
+    assertThat(employeeService.search("renamed" + name, false, 10)).hasSize(1);
+  }
+
+  @Test
+  void bulkDeactivationIsSearchable() {
+    String name = uniqueName();
+    EmployeeDTO created = employeeService.save(EmployeeDTO.builder()
+      .firstName(name).email("john@example.com").salary(7000d).build());
+
+    employeeService.deactivate(List.of(created.getId()));
+
+    assertThat(employeeService.search(name, true, 10)).isEmpty();
+    assertThat(employeeService.search(name, false, 10)).hasSize(1);
+  }
+
+  @Test
+  void fillIndexesRowsWrittenWithoutEvents() {
+    String id = UUID.randomUUID().toString();
+    String name = uniqueName();
+    jdbcTemplate.update("insert into employee (id, first_name, email, status) values (?, ?, ?, ?)",
+      id, name, "ann@example.com", true);
+
+    assertThat(employeeService.search(name, true, 10)).isEmpty();
+
+    employeeSearchIndexer.fill();
+
+    assertThat(employeeService.search(name, true, 10)).extracting(EmployeeSearchHitDTO::getId).containsExactly(id);
+  }
+
+  private static String uniqueName() {
+    return "n" + UUID.randomUUID().toString().substring(0, 8);
+  }
+}
@@ -0,0 +1,116 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.domain.Employee;
+import com.bfi.ariedemo.domain.EmployeeLevel;
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.dto.EmployeeLevelStatsDTO;
+import com.bfi.ariedemo.mapper.EmployeeMapper;
+import com.bfi.ariedemo.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * The level statistics computed in SQL against the levels of {@link EmployeeLevel} and the {@link EmployeeMapper}.
+ */
+@SpringBootTest
+class EmployeeServiceLevelStatsTest {
+
+  private static final Double[] SALARIES = {4999.99, 5000d, 9999.99, 10000d, 14999.99, 15000d, null};
+
+  @Autowired
+  private EmployeeService employeeService;
+
+  @Autowired
+  private EmployeeRepository employeeRepository;
+
+  @Autowired
+  private EmployeeMapper employeeMapper;
+
+  @BeforeEach
+  void setUp() {
+    List<String> inactive = new ArrayList<>();
+    for (Double salary : SALARIES) {
+      employeeService.save(EmployeeDTO.builder().firstName("Active").email("stats@example.com").salary(salary).build());
+      inactive.add(employeeService.save(EmployeeDTO.builder()
+        .firstName("Inactive").email("stats@example.com").salary(salary).build()).getId());
+    }
+    employeeService.deactivate(inactive);
+  }
+
+  @Test
+  void groupsMatchTheMappedLevels() {
+    List<Employee> employees = employeeRepository.findAll();
+
+    assertMatch(employeeService.findLevelStats(null), employees, employee -> true);
+    assertMatch(employeeService.findLevelStats(true), employees, Employee::isStatus);
+    assertMatch(employeeService.findLevelStats(false), employees, employee -> !employee.isStatus());
+  }
+
+  @Test
+  void boundarySalariesBelongToTheUpperLevel() {
+    Map<String, Double> minSalaries = new HashMap<>();
+    for (EmployeeLevelStatsDTO stats : employeeService.findLevelStats(false)) {
+      minSalaries.put(stats.getLevel(), stats.getMinSalary());
+    }
+
+    for (EmployeeLevel level : EmployeeLevel.values()) {
+      if (level.getMinSalary() != null) {
+        assertThat(minSalaries.get(level.getLabel())).isEqualTo(level.getMinSalary());
+        assertThat(employeeMapper.getLevelingName(level.getMinSalary())).isEqualTo(level.getLabel());
+      }
+    }
+    assertThat(minSalaries).containsKey(null);
+  }
+
+  /**
+   * Compare every group with the same aggregates computed over the rows, grouped by their mapped level.
+   */
+  private void assertMatch(List<EmployeeLevelStatsDTO> groups, List<Employee> employees, Predicate<Employee> filter) {
+    Map<String, List<Employee>> expected = new HashMap<>();
+    for (Employee employee : employees) {
+      if (filter.test(employee)) {
+        String key = employeeMapper.getLevelingName(employee.getSalary()) + "/" + employee.isStatus();
+        expected.computeIfAbsent(key, k -> new ArrayList<>()).add(employee);
+      }
+    }
+
+    assertThat(groups).hasSize(expected.size());
+    for (EmployeeLevelStatsDTO group : groups) {
+      List<Employee> rows = expected.get(group.getLevel() + "/" + group.isStatus());
+      assertThat(rows).as("rows of %s", group).isNotNull();
+      List<Double> salaries = new ArrayList<>();
+      for (Employee row : rows) {
+        if (row.getSalary() != null) {
+          salaries.add(row.getSalary());
+        }
+      }
+      assertThat(group.getCount()).isEqualTo(rows.size());
+      if (salaries.isEmpty()) {
+        assertThat(group.getLevel()).isNull();
+        assertThat(group.getMinSalary()).isNull();
+        assertThat(group.getMaxSalary()).isNull();
+        assertThat(group.getAvgSalary()).isNull();
+        assertThat(group.getSumSalary()).isNull();
+        continue;
+      }
+      double sum = salaries.stream().mapToDouble(Double::doubleValue).sum();
+      assertThat(group.getMinSalary()).isEqualTo(salaries.stream().min(Double::compare).orElseThrow());
+      assertThat(group.getMaxSalary()).isEqualTo(salaries.stream().max(Double::compare).orElseThrow());
+      assertThat(group.getSumSalary()).isCloseTo(sum, within(1e-6));
+      assertThat(group.getAvgSalary()).isCloseTo(sum / salaries.size(), within(1e-6));
+      assertThat(salaries).allMatch(salary -> Objects.equals(EmployeeLevel.of(salary).getLabel(), group.getLevel()));
+    }
+  }
+}
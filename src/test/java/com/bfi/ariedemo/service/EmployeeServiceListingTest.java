@@ -0,0 +1,86 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.domain.Employee;
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The read-only listing path of the {@link EmployeeService}.
+ */
+@SpringBootTest
+class EmployeeServiceListingTest {
+
+  @Autowired
+  private EmployeeService employeeService;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private Statistics statistics;
+
+  private EmployeeDTO active;
+
+  private EmployeeDTO inactive;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    active = employeeService.save(EmployeeDTO.builder()
+      .firstName("Jane").lastName("Listing").email("listing@example.com").salary(12000d).status(true).build());
+    inactive = employeeService.save(EmployeeDTO.builder()
+      .firstName("John").lastName("Listing").email("inactive.listing@example.com").salary(3000d).build());
+    employeeService.deactivate(List.of(inactive.getId()));
+    entityManagerFactory.getCache().evictAll();
+  }
+
+  @Test
+  void listingMapsEveryRowWithOneStatement() {
+    statistics.clear();
+
+    List<EmployeeDTO> employees = employeeService.findAll(true);
+
+    assertThat(employees).extracting(EmployeeDTO::getId).contains(active.getId()).doesNotContain(inactive.getId());
+    assertThat(employees).filteredOn(employee -> employee.getId().equals(active.getId()))
+      .singleElement()
+      .satisfies(employee -> {
+        assertThat(employee.getLevel()).isEqualTo("Gold");
+        assertThat(employee.getVersion()).isEqualTo(active.getVersion());
+      });
+    assertThat(employeeService.findAll(false)).extracting(EmployeeDTO::getId).contains(inactive.getId());
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+
+  @Test
+  void listingKeepsNoEntity() {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    transaction.setReadOnly(true);
+
+    int managed = transaction.execute(status -> {
+      employeeService.findAll(true);
+      return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+    });
+
+    assertThat(managed).isZero();
+    assertThat(entityManagerFactory.getCache().contains(Employee.class, active.getId())).isFalse();
+  }
+}
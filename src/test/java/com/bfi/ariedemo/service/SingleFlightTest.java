@@ -0,0 +1,119 @@
+package com.bfi.ariedemo.service;
+
+import com.bfi.ariedemo.exception.BadRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+  private static final int CALLERS = 8;
+
+  private final AtomicInteger waits = new AtomicInteger();
+
+  private final SingleFlight<String, String> singleFlight = new SingleFlight<>(waits::incrementAndGet);
+
+  private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  private final AtomicInteger calls = new AtomicInteger();
+
+  @AfterEach
+  void tearDown() {
+    callers.shutdownNow();
+  }
+
+  @Test
+  void concurrentCallsShareOneCall() throws Exception {
+    List<Future<String>> results = callConcurrently(key -> {
+      await();
+      return key + calls.incrementAndGet();
+    });
+    release.countDown();
+
+    for (Future<String> result : results) {
+      assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("a1");
+    }
+    assertThat(calls).hasValue(1);
+    assertThat(singleFlight.executed()).isEqualTo(1);
+    assertThat(singleFlight.collapsed()).isEqualTo(CALLERS - 1);
+    assertThat(waits).hasValue(CALLERS - 1);
+    assertThat(singleFlight.inFlight()).isZero();
+  }
+
+  @Test
+  void concurrentCallsShareTheException() throws Exception {
+    List<Future<String>> results = callConcurrently(key -> {
+      calls.incrementAndGet();
+      await();
+      throw new BadRequestException("Not Found");
+    });
+    release.countDown();
+
+    for (Future<String> result : results) {
+      assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(BadRequestException.class);
+    }
+    assertThat(calls).hasValue(1);
+    assertThat(singleFlight.execute("a", key -> "again")).isEqualTo("again");
+  }
+
+  @Test
+  void forgottenCallIsNotShared() throws Exception {
+    List<Future<String>> results = callConcurrently(key -> {
+      await();
+      return "old";
+    });
+
+    singleFlight.forget("a");
+
+    assertThat(singleFlight.execute("a", key -> "new")).isEqualTo("new");
+    release.countDown();
+    for (Future<String> result : results) {
+      assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("old");
+    }
+  }
+
+  /**
+   * Start the callers, and wait for all but the one running the call to join it.
+   */
+  private List<Future<String>> callConcurrently(Function<String, String> call) throws Exception {
+    CountDownLatch started = new CountDownLatch(CALLERS);
+    List<Future<String>> results = new ArrayList<>();
+    for (int i = 0; i < CALLERS; i++) {
+      results.add(callers.submit(() -> {
+        started.countDown();
+        return singleFlight.execute("a", call);
+      }));
+    }
+    started.await();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (singleFlight.collapsed() < CALLERS - 1 && System.nanoTime() < deadline) {
+      Thread.onSpinWait();
+    }
+    return results;
+  }
+
+  private void await() {
+    try {
+      release.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
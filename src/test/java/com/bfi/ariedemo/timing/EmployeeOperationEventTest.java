@@ -0,0 +1,107 @@
+package com.bfi.ariedemo.timing;
+
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.service.EmployeeDtoCache;
+import com.bfi.ariedemo.service.EmployeeService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lookup outcomes of the employee operation events.
+ */
+@SpringBootTest
+class EmployeeOperationEventTest {
+
+  @Autowired
+  private EmployeeService employeeService;
+
+  @Autowired
+  private EmployeeDtoCache employeeDtoCache;
+
+  private Recording recording;
+
+  private String id;
+
+  @BeforeEach
+  void setUp() {
+    id = employeeService.save(EmployeeDTO.builder().firstName("Jane").email("jfr@example.com").build()).getId();
+    employeeDtoCache.evict(id);
+    recording = new Recording();
+    recording.enable(EmployeeOperationEvent.class).withoutThreshold();
+    recording.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    recording.close();
+  }
+
+  @Test
+  void lookupsAreMissesThenHits() throws Exception {
+    employeeService.findOne(id);
+    employeeService.findOne(id);
+
+    assertThat(lookups("findOne")).containsExactly("MISS", "HIT");
+  }
+
+  @Test
+  void waitingForTheLoadOfAnotherCallIsCollapsed() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    long collapsed = employeeDtoCache.getLoads().collapsed();
+    CompletableFuture<EmployeeDTO> inFlight = CompletableFuture.supplyAsync(() -> employeeDtoCache.get(id, key -> {
+      await(release);
+      return EmployeeDTO.builder().id(key).build();
+    }));
+    while (employeeDtoCache.getLoads().inFlight() == 0) {
+      Thread.onSpinWait();
+    }
+    CompletableFuture<EmployeeDTO> waiting = CompletableFuture.supplyAsync(() -> employeeService.findOne(id));
+    while (employeeDtoCache.getLoads().collapsed() == collapsed) {
+      Thread.onSpinWait();
+    }
+    release.countDown();
+    inFlight.get(10, TimeUnit.SECONDS);
+    waiting.get(10, TimeUnit.SECONDS);
+
+    assertThat(lookups("findOne")).containsExactly("COLLAPSED");
+  }
+
+  private List<String> lookups(String operation) throws IOException {
+    recording.stop();
+    Path file = Files.createTempFile("employee-operations", ".jfr");
+    try {
+      recording.dump(file);
+      return RecordingFile.readAllEvents(file).stream()
+        .filter(event -> operation.equals(event.getString("operation")) && id.equals(event.getString("employeeId")))
+        .sorted((first, second) -> first.getStartTime().compareTo(second.getStartTime()))
+        .map(event -> event.getString("lookup"))
+        .collect(Collectors.toList());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.bfi.ariedemo.timing;
+
+import com.bfi.ariedemo.dto.EmployeeDTO;
+import com.bfi.ariedemo.service.EmployeeDtoCache;
+import com.bfi.ariedemo.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@code Server-Timing} header and slow request log of the timed requests, every request being slow.
+ */
+@SpringBootTest(properties = "application.timing.slow-request-threshold=0ms")
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class ServerTimingFilterTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private EmployeeService employeeService;
+
+  @Autowired
+  private EmployeeDtoCache employeeDtoCache;
+
+  private String id;
+
+  @BeforeEach
+  void setUp() {
+    id = employeeService.save(EmployeeDTO.builder().firstName("Jane").email("timing@example.com").build()).getId();
+    employeeDtoCache.evict(id);
+  }
+
+  @Test
+  void headerHoldsThePhasesBeforeTheBody() throws Exception {
+    String header = getEmployee(mockMvc).getResponse().getHeader(ServerTimingFilter.SERVER_TIMING);
+
+    assertThat(header)
+      .matches("ctrl;desc=controller;dur=\\d+\\.\\d{3}, svc;desc=service;dur=\\d+\\.\\d{3}, "
+        + "db;desc=repository;dur=\\d+\\.\\d{3}, map;desc=mapping;dur=\\d+\\.\\d{3}, total;dur=\\d+\\.\\d{3}");
+  }
+
+  @Test
+  void slowRequestsAreLoggedWithTheSerialization(CapturedOutput output) throws Exception {
+    getEmployee(mockMvc);
+
+    assertThat(output.getOut())
+      .containsPattern("Slow request GET /api/employees/" + id + ": total=\\d+\\.\\d{3}ms, controller=.*, "
+        + "serialization=\\d+\\.\\d{3}ms")
+      .doesNotContain("serialization=0.000ms");
+  }
+
+  @Nested
+  @TestPropertySource(properties = "application.timing.server-timing-header=false")
+  class WithoutHeader {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void headerIsTurnedOff(CapturedOutput output) throws Exception {
+      assertThat(getEmployee(mockMvc).getResponse().getHeaderNames()).doesNotContain(ServerTimingFilter.SERVER_TIMING);
+      assertThat(output.getOut()).contains("Slow request GET /api/employees/" + id);
+    }
+  }
+
+  private MvcResult getEmployee(MockMvc mockMvc) throws Exception {
+    return mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/employees/{id}", id))
+        .andExpect(request().asyncStarted())
+        .andReturn()))
+      .andExpect(status().isOk())
+      .andReturn();
+  }
+}